@@ -0,0 +1,120 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.benchmark;
+
+import com.hubbledouble.json_merge_patch.benchmark.model.PatchableVendorBean;
+import com.hubbledouble.json_merge_patch.benchmark.model.VendorBean;
+import com.hubbledouble.json_merge_patch.constant.PatchMode;
+import com.hubbledouble.json_merge_patch.processor.HTTPMethodProcessor;
+import com.hubbledouble.json_merge_patch.processor.PatchOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Field accessors patching a single bean class against several classes patched in turn.
+ * Accessor call sites are shared by every class, so {@code manyClasses} shows the cost once their profile is polluted.
+ * {@code generatedApplier} patches the same fields as {@code singleClass} through the applier generated for a
+ * {@code @Patchable} class instead of method handles.
+ * Each variant runs in its own JVM; scores are per patched object.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AccessorBenchmark {
+
+    private static final PatchOptions STREAMING = PatchOptions.defaults().withMode(PatchMode.STREAMING);
+    private static final int SIZE = 8;
+    private static final String VENDOR_REQUEST =
+            "{" +
+                    "\"code\" : \"A-1\", " +
+                    "\"name\" : \"name\", " +
+                    "\"description\" : \"description\", " +
+                    "\"quantity\" : 5, " +
+                    "\"version\" : 6, " +
+                    "\"price\" : 7.5, " +
+                    "\"active\" : true, " +
+                    "\"tags\" : [\"one\", \"two\"]" +
+                    "}";
+    private static final Shape[] SHAPES = {Shape.NODE, Shape.NUMBERS, Shape.WIDE, Shape.DEEP};
+
+    private VendorBean bean;
+    private PatchableVendorBean patchableBean;
+    private Object[] beans;
+    private String[] requests;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        bean = new VendorBean();
+        patchableBean = new PatchableVendorBean();
+        beans = new Object[SHAPES.length + 1];
+        requests = new String[SHAPES.length + 1];
+        beans[0] = bean;
+        requests[0] = VENDOR_REQUEST;
+        for (int i = 0; i < SHAPES.length; i++) {
+            beans[i + 1] = SHAPES[i].bean(SIZE);
+            requests[i + 1] = SHAPES[i].request(SIZE);
+        }
+    }
+
+    @Benchmark
+    public Object singleClass() {
+        HTTPMethodProcessor.patch(VENDOR_REQUEST, bean, STREAMING);
+        return bean;
+    }
+
+    @Benchmark
+    public Object generatedApplier() {
+        HTTPMethodProcessor.patch(VENDOR_REQUEST, patchableBean, STREAMING);
+        return patchableBean;
+    }
+
+    @Benchmark
+    public Object manyClasses() {
+        final int i = next;
+        next = i + 1 == beans.length ? 0 : i + 1;
+        HTTPMethodProcessor.patch(requests[i], beans[i], STREAMING);
+        return beans[i];
+    }
+
+}
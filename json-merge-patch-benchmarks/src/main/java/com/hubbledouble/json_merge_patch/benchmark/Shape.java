@@ -0,0 +1,155 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.benchmark;
+
+import com.hubbledouble.json_merge_patch.benchmark.model.DeepBean;
+import com.hubbledouble.json_merge_patch.benchmark.model.WideBean;
+import com.hubbledouble.json_merge_patch.core.ArrayBean;
+import com.hubbledouble.json_merge_patch.core.LeafBean;
+import com.hubbledouble.json_merge_patch.core.MapBean;
+import com.hubbledouble.json_merge_patch.core.NodeBean;
+import com.hubbledouble.json_merge_patch.core.NumbersBean;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bean shapes patched by the benchmarks, each building its target object and a patch request
+ * touching {@code size} properties. Shapes with a fixed number of fields cap the request at that number.
+ */
+public enum Shape {
+
+    NODE {
+        @Override
+        public Object bean(int size) {
+            return new NodeBean<>("one", new LeafBean<>("one"));
+        }
+
+        @Override
+        public String request(int size) {
+            return size > 1 ?
+                    "{\"element\":\"two\",\"leaf\":{\"element\":\"two\"}}" :
+                    "{\"element\":\"two\"}";
+        }
+    },
+
+    NUMBERS {
+        private final String[] fields = {
+                "\"integerNumber\":2", "\"longNumber\":2", "\"floatNumber\":2.5", "\"doubleNumber\":2.5"};
+
+        @Override
+        public Object bean(int size) {
+            return new NumbersBean(1, 1L, 1F, 1D);
+        }
+
+        @Override
+        public String request(int size) {
+            StringBuilder request = new StringBuilder("{");
+            for (int i = 0; i < Math.min(size, fields.length); i++)
+                request.append(i > 0 ? "," : "").append(fields[i]);
+            return request.append('}').toString();
+        }
+    },
+
+    ARRAY {
+        @Override
+        public Object bean(int size) {
+            List<String> elements = new ArrayList<>();
+            for (int i = 0; i < size; i++)
+                elements.add("one" + i);
+            return new ArrayBean<>(elements);
+        }
+
+        @Override
+        public String request(int size) {
+            StringBuilder request = new StringBuilder("{\"elements\":[");
+            for (int i = 0; i < size; i++)
+                request.append(i > 0 ? "," : "").append("\"two").append(i).append('"');
+            return request.append("]}").toString();
+        }
+    },
+
+    MAP {
+        @Override
+        public Object bean(int size) {
+            Map<String, String> elements = new HashMap<>();
+            for (int i = 0; i < size; i++)
+                elements.put("key" + i, "one");
+            return new MapBean(elements);
+        }
+
+        @Override
+        public String request(int size) {
+            StringBuilder request = new StringBuilder("{\"elements\":{");
+            for (int i = 0; i < size; i++)
+                request.append(i > 0 ? "," : "").append("\"key").append(i).append("\":\"two\"");
+            return request.append("}}").toString();
+        }
+    },
+
+    WIDE {
+        @Override
+        public Object bean(int size) {
+            return new WideBean();
+        }
+
+        @Override
+        public String request(int size) {
+            StringBuilder request = new StringBuilder("{");
+            for (int i = 0; i < Math.min(size, WideBean.WIDTH); i++)
+                request.append(i > 0 ? "," : "").append(String.format("\"field%02d\":\"two\"", i));
+            return request.append('}').toString();
+        }
+    },
+
+    DEEP {
+        @Override
+        public Object bean(int size) {
+            return DeepBean.of(size);
+        }
+
+        @Override
+        public String request(int size) {
+            StringBuilder request = new StringBuilder();
+            for (int i = 0; i < size; i++)
+                request.append(i > 0 ? ",\"child\":" : "").append("{\"name\":\"two\"");
+            for (int i = 0; i < size; i++)
+                request.append('}');
+            return request.toString();
+        }
+    };
+
+    public abstract Object bean(int size);
+
+    public abstract String request(int size);
+
+}
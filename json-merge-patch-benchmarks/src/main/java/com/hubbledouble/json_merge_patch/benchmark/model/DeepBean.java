@@ -27,32 +27,48 @@
  *
  */
 
-package com.hubbledouble.json_merge_patch.mapper;
+package com.hubbledouble.json_merge_patch.benchmark.model;
 
-import com.hubbledouble.json_merge_patch.exception.JsonMapperException;
-import com.hubbledouble.json_merge_patch.core.StringBean;
-import org.junit.Test;
+/**
+ * Synthetic self-nesting bean, every level holding a name and the next level.
+ */
+public class DeepBean {
+
+    private String name;
+    private DeepBean child;
+
+    public DeepBean() {
+    }
 
-public class JSONMapperTest {
+    public DeepBean(String name, DeepBean child) {
+        this.name = name;
+        this.child = child;
+    }
+
+    /**
+     * Chain of {@code depth} nested beans.
+     */
+    public static DeepBean of(int depth) {
+        DeepBean bean = null;
+        for (int level = depth; level > 0; level--)
+            bean = new DeepBean("level" + level, bean);
+        return bean;
+    }
 
-    @Test
-    public void jsonStringToObject_FieldExist_NoExceptions() {
-        JSONMapper.jsonStringToObject("{ \"name\" : null }", StringBean.class);
+    public String getName() {
+        return name;
     }
 
-    @Test(expected = JsonMapperException.class)
-    public void jsonStringToObject_FieldDoesNotExist_ThrowExceptions() {
-        JSONMapper.jsonStringToObject("{ \"nameDoesNotExist\" : null }", StringBean.class);
+    public void setName(String name) {
+        this.name = name;
     }
 
-    @Test
-    public void jsonStringToJsonNode_JsonRequest_NoException() {
-        JSONMapper.jsonStringToJsonNode("{ \"name\" : null }");
+    public DeepBean getChild() {
+        return child;
     }
 
-    @Test(expected = JsonMapperException.class)
-    public void jsonStringToJsonNode_NotJson_ThrowException() {
-        JSONMapper.jsonStringToJsonNode("Hello");
+    public void setChild(DeepBean child) {
+        this.child = child;
     }
 
-}
\ No newline at end of file
+}
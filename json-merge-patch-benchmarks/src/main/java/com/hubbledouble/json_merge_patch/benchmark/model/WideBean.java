@@ -0,0 +1,328 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.benchmark.model;
+
+/**
+ * Synthetic flat bean with {@value #WIDTH} string fields named {@code field00} to {@code field31}.
+ */
+public class WideBean {
+
+    public static final int WIDTH = 32;
+
+    private String field00;
+    private String field01;
+    private String field02;
+    private String field03;
+    private String field04;
+    private String field05;
+    private String field06;
+    private String field07;
+    private String field08;
+    private String field09;
+    private String field10;
+    private String field11;
+    private String field12;
+    private String field13;
+    private String field14;
+    private String field15;
+    private String field16;
+    private String field17;
+    private String field18;
+    private String field19;
+    private String field20;
+    private String field21;
+    private String field22;
+    private String field23;
+    private String field24;
+    private String field25;
+    private String field26;
+    private String field27;
+    private String field28;
+    private String field29;
+    private String field30;
+    private String field31;
+
+    public String getField00() {
+        return field00;
+    }
+
+    public void setField00(String field00) {
+        this.field00 = field00;
+    }
+
+    public String getField01() {
+        return field01;
+    }
+
+    public void setField01(String field01) {
+        this.field01 = field01;
+    }
+
+    public String getField02() {
+        return field02;
+    }
+
+    public void setField02(String field02) {
+        this.field02 = field02;
+    }
+
+    public String getField03() {
+        return field03;
+    }
+
+    public void setField03(String field03) {
+        this.field03 = field03;
+    }
+
+    public String getField04() {
+        return field04;
+    }
+
+    public void setField04(String field04) {
+        this.field04 = field04;
+    }
+
+    public String getField05() {
+        return field05;
+    }
+
+    public void setField05(String field05) {
+        this.field05 = field05;
+    }
+
+    public String getField06() {
+        return field06;
+    }
+
+    public void setField06(String field06) {
+        this.field06 = field06;
+    }
+
+    public String getField07() {
+        return field07;
+    }
+
+    public void setField07(String field07) {
+        this.field07 = field07;
+    }
+
+    public String getField08() {
+        return field08;
+    }
+
+    public void setField08(String field08) {
+        this.field08 = field08;
+    }
+
+    public String getField09() {
+        return field09;
+    }
+
+    public void setField09(String field09) {
+        this.field09 = field09;
+    }
+
+    public String getField10() {
+        return field10;
+    }
+
+    public void setField10(String field10) {
+        this.field10 = field10;
+    }
+
+    public String getField11() {
+        return field11;
+    }
+
+    public void setField11(String field11) {
+        this.field11 = field11;
+    }
+
+    public String getField12() {
+        return field12;
+    }
+
+    public void setField12(String field12) {
+        this.field12 = field12;
+    }
+
+    public String getField13() {
+        return field13;
+    }
+
+    public void setField13(String field13) {
+        this.field13 = field13;
+    }
+
+    public String getField14() {
+        return field14;
+    }
+
+    public void setField14(String field14) {
+        this.field14 = field14;
+    }
+
+    public String getField15() {
+        return field15;
+    }
+
+    public void setField15(String field15) {
+        this.field15 = field15;
+    }
+
+    public String getField16() {
+        return field16;
+    }
+
+    public void setField16(String field16) {
+        this.field16 = field16;
+    }
+
+    public String getField17() {
+        return field17;
+    }
+
+    public void setField17(String field17) {
+        this.field17 = field17;
+    }
+
+    public String getField18() {
+        return field18;
+    }
+
+    public void setField18(String field18) {
+        this.field18 = field18;
+    }
+
+    public String getField19() {
+        return field19;
+    }
+
+    public void setField19(String field19) {
+        this.field19 = field19;
+    }
+
+    public String getField20() {
+        return field20;
+    }
+
+    public void setField20(String field20) {
+        this.field20 = field20;
+    }
+
+    public String getField21() {
+        return field21;
+    }
+
+    public void setField21(String field21) {
+        this.field21 = field21;
+    }
+
+    public String getField22() {
+        return field22;
+    }
+
+    public void setField22(String field22) {
+        this.field22 = field22;
+    }
+
+    public String getField23() {
+        return field23;
+    }
+
+    public void setField23(String field23) {
+        this.field23 = field23;
+    }
+
+    public String getField24() {
+        return field24;
+    }
+
+    public void setField24(String field24) {
+        this.field24 = field24;
+    }
+
+    public String getField25() {
+        return field25;
+    }
+
+    public void setField25(String field25) {
+        this.field25 = field25;
+    }
+
+    public String getField26() {
+        return field26;
+    }
+
+    public void setField26(String field26) {
+        this.field26 = field26;
+    }
+
+    public String getField27() {
+        return field27;
+    }
+
+    public void setField27(String field27) {
+        this.field27 = field27;
+    }
+
+    public String getField28() {
+        return field28;
+    }
+
+    public void setField28(String field28) {
+        this.field28 = field28;
+    }
+
+    public String getField29() {
+        return field29;
+    }
+
+    public void setField29(String field29) {
+        this.field29 = field29;
+    }
+
+    public String getField30() {
+        return field30;
+    }
+
+    public void setField30(String field30) {
+        this.field30 = field30;
+    }
+
+    public String getField31() {
+        return field31;
+    }
+
+    public void setField31(String field31) {
+        this.field31 = field31;
+    }
+
+}
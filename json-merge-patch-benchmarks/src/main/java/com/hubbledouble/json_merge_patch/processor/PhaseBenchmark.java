@@ -0,0 +1,106 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.processor;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.hubbledouble.json_merge_patch.benchmark.Shape;
+import com.hubbledouble.json_merge_patch.mapper.JSONMapper;
+import com.hubbledouble.json_merge_patch.validator.RequestValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.hubbledouble.json_merge_patch.utils.ReflectionUtils.getDeclaringPackageName;
+
+/**
+ * The tree mode split in its phases: parsing the request, walking it into the object and validating the result.
+ * Lives in the processor package to reach the package-private traversal.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PhaseBenchmark {
+
+    @Param({"NODE", "NUMBERS", "WIDE", "DEEP"})
+    private Shape shape;
+
+    @Param({"1", "8", "32"})
+    private int size;
+
+    private Object bean;
+    private String request;
+    private JsonNode tree;
+    private Object requestObject;
+    private String declaringPackageName;
+
+    @Setup
+    public void setUp() {
+        bean = shape.bean(size);
+        request = shape.request(size);
+        tree = JSONMapper.jsonStringToJsonNode(request);
+        requestObject = JSONMapper.jsonNodeToObject(tree, bean.getClass());
+        declaringPackageName = getDeclaringPackageName(bean);
+    }
+
+    @Benchmark
+    public Object parse() {
+        return JSONMapper.jsonNodeToObject(JSONMapper.jsonStringToJsonNode(request), bean.getClass());
+    }
+
+    @Benchmark
+    public Object traverse() {
+        NodeProcessor.iterateJsonTree(
+                bean,
+                requestObject,
+                tree.fields(),
+                new PatchContext(declaringPackageName, PatchOptions.defaults()));
+        return bean;
+    }
+
+    @Benchmark
+    public Object validate() {
+        RequestValidator.finalValidation(bean);
+        return bean;
+    }
+
+}
@@ -0,0 +1,101 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency percentiles and throughput of one load test run.
+ */
+public final class LatencyReport {
+
+    private final long[] latencies;
+    private final long elapsedNanos;
+    private final long errors;
+
+    private LatencyReport(long[] latencies, long elapsedNanos, long errors) {
+        this.latencies = latencies;
+        this.elapsedNanos = elapsedNanos;
+        this.errors = errors;
+    }
+
+    /**
+     * @param latencies    - latency of every completed request, in nanoseconds
+     * @param elapsedNanos - wall clock duration of the run
+     * @param errors       - requests failed or answered with a non 2xx status
+     */
+    public static LatencyReport of(long[] latencies, long elapsedNanos, long errors) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        return new LatencyReport(sorted, elapsedNanos, errors);
+    }
+
+    public long getRequests() {
+        return latencies.length;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    /**
+     * Nearest rank percentile, in nanoseconds.
+     *
+     * @param percentile - between 0 and 100
+     */
+    public long percentile(double percentile) {
+        if (0 == latencies.length)
+            return 0;
+        // rounded first, so 99.9% of 1000 latencies is rank 999 despite floating point error
+        int rank = (int) Math.ceil(Math.round(percentile * latencies.length * 1000) / 100000.0);
+        return latencies[Math.min(Math.max(rank, 1), latencies.length) - 1];
+    }
+
+    /**
+     * Completed requests per second.
+     */
+    public double throughput() {
+        return 0 == elapsedNanos ? 0 : latencies.length * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "requests=%d errors=%d throughput=%.1f req/s p50=%.3f ms p99=%.3f ms p999=%.3f ms max=%.3f ms",
+                getRequests(), errors, throughput(),
+                millis(percentile(50)), millis(percentile(99)), millis(percentile(99.9)), millis(percentile(100)));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+}
@@ -0,0 +1,161 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open loop client sending merge patch requests at a fixed rate.
+ * <p>
+ * Every request has an intended start time on the schedule and its latency is measured from that time,
+ * so a stalled server shows up as queueing delay in the percentiles instead of lowering the offered rate.
+ */
+public class LoadClient {
+
+    private static final byte[] BUFFER = new byte[8192];
+
+    private final URL baseUrl;
+    private final int accounts;
+
+    /**
+     * @param baseUrl  - server url, e.g. {@code http://localhost:8080/}
+     * @param accounts - number of distinct accounts the requests are spread over
+     */
+    public LoadClient(URL baseUrl, int accounts) {
+        this.baseUrl = baseUrl;
+        this.accounts = accounts;
+    }
+
+    /**
+     * Sends {@code rate * seconds} requests from {@code concurrency} connections.
+     */
+    public LatencyReport run(int rate, int seconds, int concurrency) throws InterruptedException {
+
+        final long total = (long) rate * seconds;
+        final long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        final AtomicLong next = new AtomicLong();
+        final AtomicLong errors = new AtomicLong();
+        final long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(10);
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Future<long[]>> results = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++)
+            results.add(workers.submit(() -> {
+                long[] latencies = new long[64];
+                int count = 0;
+                for (long index = next.getAndIncrement(); index < total; index = next.getAndIncrement()) {
+                    long intended = start + index * interval;
+                    for (long wait = intended - System.nanoTime(); wait > 0; wait = intended - System.nanoTime())
+                        LockSupport.parkNanos(wait);
+                    if (!send(index))
+                        errors.incrementAndGet();
+                    if (count == latencies.length)
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    latencies[count++] = System.nanoTime() - intended;
+                }
+                return Arrays.copyOf(latencies, count);
+            }));
+
+        workers.shutdown();
+        try {
+            long[] latencies = new long[0];
+            for (Future<long[]> result : results) {
+                long[] worker = result.get();
+                int offset = latencies.length;
+                latencies = Arrays.copyOf(latencies, offset + worker.length);
+                System.arraycopy(worker, 0, latencies, offset, worker.length);
+            }
+            return LatencyReport.of(latencies, System.nanoTime() - start, errors.get());
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * Sends the patch request number {@code index}.
+     *
+     * @return true when the server answered with a 2xx status
+     */
+    public boolean send(long index) {
+        try {
+            return patch("account" + index % accounts, request(index)) / 100 == 2;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Sends one merge patch request, returning the response status.
+     * {@link HttpURLConnection} does not allow the {@code PATCH} method, so it is sent as an overridden {@code POST}.
+     */
+    public int patch(String id, byte[] body) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl, "accounts/" + id).openConnection();
+        connection.setRequestMethod("POST");
+        connection.setRequestProperty(PatchServer.METHOD_OVERRIDE, "PATCH");
+        connection.setRequestProperty("Content-Type", PatchServer.MERGE_PATCH_JSON);
+        connection.setDoOutput(true);
+        connection.setFixedLengthStreamingMode(body.length);
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write(body);
+        }
+        int status = connection.getResponseCode();
+        // reading the response to the end lets the connection be reused
+        try (InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+            if (null != in)
+                while (in.read(BUFFER) != -1) ;
+        }
+        return status;
+    }
+
+    private static byte[] request(long index) {
+        String request = 0 == index % 4 ?
+                "{ \"balance\" : " + index % 1000 + ", \"address\" : { \"city\" : \"city" + index % 100 + "\" } }" :
+                "{ \"name\" : \"name" + index % 100 + "\", \"active\" : " + (0 == index % 2) + " }";
+        return request.getBytes(StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,80 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.loadtest;
+
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Runs the load test against an embedded {@link PatchServer}, or against {@code --url} when given.
+ * <pre>
+ * java -jar load-test.jar --rates=1000,5000 --duration=30 --warmup=10 --concurrency=64 --accounts=1000 --server-threads=8
+ * </pre>
+ * Every rate gets a warmup run, not reported, followed by the measured run.
+ */
+public class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0)
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        int duration = Integer.parseInt(options.getOrDefault("duration", "30"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "64"));
+        int accounts = Integer.parseInt(options.getOrDefault("accounts", "1000"));
+        int serverThreads = Integer.parseInt(options.getOrDefault(
+                "server-threads", String.valueOf(Runtime.getRuntime().availableProcessors())));
+
+        PatchServer server = options.containsKey("url") ? null : new PatchServer(0, serverThreads).start();
+        try {
+            URL url = null == server ? new URL(options.get("url")) : new URL("http://localhost:" + server.getPort() + "/");
+            LoadClient client = new LoadClient(url, accounts);
+            for (String rate : options.getOrDefault("rates", "1000").split(",")) {
+                if (warmup > 0)
+                    client.run(Integer.parseInt(rate), warmup, concurrency);
+                System.out.println("rate=" + rate + " req/s " + client.run(Integer.parseInt(rate), duration, concurrency));
+            }
+        } finally {
+            if (null != server)
+                server.close();
+        }
+    }
+
+}
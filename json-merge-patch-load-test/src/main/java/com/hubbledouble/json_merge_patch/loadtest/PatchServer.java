@@ -0,0 +1,165 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hubbledouble.json_merge_patch.exception.JsonMergePatchException;
+import com.hubbledouble.json_merge_patch.exception.ValidationException;
+import com.hubbledouble.json_merge_patch.loadtest.model.Account;
+import com.hubbledouble.json_merge_patch.loadtest.model.Address;
+import com.hubbledouble.json_merge_patch.processor.HTTPMethodProcessor;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Loopback http server exposing {@code PATCH /accounts/{id}} backed by {@link HTTPMethodProcessor}.
+ * Accounts are created on first access and patched one request at a time each.
+ * <p>
+ * Clients unable to send {@code PATCH} may send {@code POST} with the {@code X-HTTP-Method-Override: PATCH} header.
+ */
+public class PatchServer implements Closeable {
+
+    public static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+    public static final String METHOD_OVERRIDE = "X-HTTP-Method-Override";
+
+    private static final String CONTEXT = "/accounts/";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final ConcurrentMap<String, Account> accounts = new ConcurrentHashMap<>();
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public PatchServer(int port, int threads) throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.executor = Executors.newFixedThreadPool(threads);
+        server.createContext(CONTEXT, this::handle);
+        server.setExecutor(executor);
+    }
+
+    public PatchServer start() {
+        server.start();
+        return this;
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public Account account(String id) {
+        return accounts.computeIfAbsent(id, key -> new Account(key, 0L, true, new Address("street", "city")));
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+
+        try {
+
+            if (!isPatch(exchange)) {
+                drain(exchange.getRequestBody());
+                exchange.getResponseHeaders().set("Allow", "PATCH");
+                exchange.sendResponseHeaders(405, -1);
+
+            } else if (!isMergePatch(exchange.getRequestHeaders().getFirst("Content-Type"))) {
+                drain(exchange.getRequestBody());
+                exchange.sendResponseHeaders(415, -1);
+
+            } else {
+                Account account = account(exchange.getRequestURI().getPath().substring(CONTEXT.length()));
+                try {
+                    synchronized (account) {
+                        HTTPMethodProcessor.patch(exchange.getRequestBody(), account);
+                    }
+                } finally {
+                    drain(exchange.getRequestBody());
+                }
+                exchange.sendResponseHeaders(204, -1);
+            }
+
+        } catch (ValidationException e) {
+            sendError(exchange, 422, e);
+
+        } catch (JsonMergePatchException e) {
+            sendError(exchange, 400, e);
+
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static boolean isPatch(HttpExchange exchange) {
+        return "PATCH".equals(exchange.getRequestMethod()) ||
+                ("POST".equals(exchange.getRequestMethod()) &&
+                        "PATCH".equalsIgnoreCase(exchange.getRequestHeaders().getFirst(METHOD_OVERRIDE)));
+    }
+
+    private static boolean isMergePatch(String contentType) {
+        return null != contentType && contentType.toLowerCase().startsWith(MERGE_PATCH_JSON);
+    }
+
+    /**
+     * Reads what is left of the request body. The server drops the connection, instead of keeping it alive,
+     * when the response is sent with request bytes still unread.
+     */
+    private static void drain(InputStream body) throws IOException {
+        byte[] buffer = new byte[512];
+        while (body.read(buffer) != -1) ;
+    }
+
+    private static void sendError(HttpExchange exchange, int status, JsonMergePatchException e) throws IOException {
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("message", e.getMessage());
+        error.put("details", e.getErrorDetails());
+        byte[] body = OBJECT_MAPPER.writeValueAsBytes(error);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+}
@@ -0,0 +1,60 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.loadtest;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class LatencyReportTest {
+
+    @Test
+    public void percentile_ThousandLatencies_ExpectNearestRank() {
+        long[] latencies = new long[1000];
+        for (int i = 0; i < latencies.length; i++)
+            latencies[i] = latencies.length - i;
+        LatencyReport report = LatencyReport.of(latencies, TimeUnit.SECONDS.toNanos(2), 0);
+        Assert.assertEquals(500, report.percentile(50));
+        Assert.assertEquals(990, report.percentile(99));
+        Assert.assertEquals(999, report.percentile(99.9));
+        Assert.assertEquals(1000, report.percentile(100));
+        Assert.assertEquals(500, report.throughput(), 0.001);
+    }
+
+    @Test
+    public void percentile_NoLatencies_ExpectZero() {
+        LatencyReport report = LatencyReport.of(new long[0], 0, 3);
+        Assert.assertEquals(0, report.percentile(99));
+        Assert.assertEquals(0, report.throughput(), 0);
+        Assert.assertEquals(3, report.getErrors());
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.loadtest;
+
+import com.hubbledouble.json_merge_patch.loadtest.model.Account;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+public class PatchServerTest {
+
+    private PatchServer server;
+    private LoadClient client;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new PatchServer(0, 2).start();
+        client = new LoadClient(new URL("http://localhost:" + server.getPort() + "/"), 10);
+    }
+
+    @After
+    public void tearDown() {
+        server.close();
+    }
+
+    @Test
+    public void patch_MergePatchRequest_ExpectAccountPatched() throws IOException {
+        int status = client.patch("one", bytes("{ \"balance\" : 10, \"address\" : { \"city\" : \"updated\" } }"));
+        Account account = server.account("one");
+        Assert.assertEquals(204, status);
+        Assert.assertEquals(Long.valueOf(10), account.getBalance());
+        Assert.assertEquals("updated", account.getAddress().getCity());
+        Assert.assertEquals("street", account.getAddress().getStreet());
+    }
+
+    @Test
+    public void patch_ConstraintViolated_Expect422() throws IOException {
+        Assert.assertEquals(422, client.patch("one", bytes("{ \"balance\" : -1 }")));
+    }
+
+    @Test
+    public void patch_MalformedRequest_Expect400() throws IOException {
+        Assert.assertEquals(400, client.patch("one", bytes("{ \"balance\" : ")));
+    }
+
+    @Test
+    public void patch_WrongContentType_Expect415() throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + server.getPort() + "/accounts/one").openConnection();
+        connection.setRequestMethod("POST");
+        connection.setRequestProperty(PatchServer.METHOD_OVERRIDE, "PATCH");
+        connection.setRequestProperty("Content-Type", "application/json");
+        connection.setDoOutput(true);
+        connection.getOutputStream().write(bytes("{}"));
+        Assert.assertEquals(415, connection.getResponseCode());
+    }
+
+    @Test
+    public void patch_PostWithoutOverride_Expect405() throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + server.getPort() + "/accounts/one").openConnection();
+        connection.setRequestMethod("POST");
+        connection.setRequestProperty("Content-Type", PatchServer.MERGE_PATCH_JSON);
+        connection.setDoOutput(true);
+        connection.getOutputStream().write(bytes("{}"));
+        Assert.assertEquals(405, connection.getResponseCode());
+    }
+
+    @Test
+    public void run_FixedRate_ExpectEveryRequestReported() throws InterruptedException {
+        LatencyReport report = client.run(200, 1, 4);
+        Assert.assertEquals(200, report.getRequests());
+        Assert.assertEquals(0, report.getErrors());
+    }
+
+    private static byte[] bytes(String request) {
+        return request.getBytes(StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,283 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.annotation.processing;
+
+import com.hubbledouble.json_merge_patch.annotation.Patchable;
+import com.hubbledouble.json_merge_patch.processor.PatchApplier;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Generates a {@link PatchApplier} for every {@link Patchable} class.
+ * The applier reads and writes the fields visible from the bean's package directly, never through their getters
+ * and setters, selecting the field with a switch on its name. Primitive fields are written without boxing.
+ * Private and final fields are left out and accessed through method handles at runtime.
+ *
+ * @author Jorge Saldivar
+ */
+public class PatchableProcessor extends AbstractProcessor {
+
+    /**
+     * Primitive types {@link PatchApplier} has a dedicated setter for.
+     */
+    private static final TypeKind[] PRIMITIVE_SETTERS = {TypeKind.INT, TypeKind.LONG, TypeKind.FLOAT, TypeKind.DOUBLE, TypeKind.BOOLEAN};
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(Patchable.class.getCanonicalName());
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+
+        for (Element element : roundEnv.getElementsAnnotatedWith(Patchable.class))
+            if (isSupported(element))
+                generate((TypeElement) element);
+
+        return true;
+    }
+
+    private boolean isSupported(Element element) {
+
+        if (ElementKind.CLASS != element.getKind()) {
+            error(element, "@Patchable is only supported on classes");
+            return false;
+        }
+
+        final TypeElement type = (TypeElement) element;
+        if (NestingKind.MEMBER == type.getNestingKind() && !type.getModifiers().contains(Modifier.STATIC)) {
+            error(element, "@Patchable is not supported on inner classes, declare the class static");
+            return false;
+        }
+        if (NestingKind.LOCAL == type.getNestingKind() || NestingKind.ANONYMOUS == type.getNestingKind()) {
+            error(element, "@Patchable is not supported on local or anonymous classes");
+            return false;
+        }
+        if (type.getModifiers().contains(Modifier.PRIVATE)) {
+            error(element, "@Patchable is not supported on private classes");
+            return false;
+        }
+
+        return true;
+    }
+
+    private void generate(TypeElement type) {
+
+        final String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        final String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        final String applierName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)) + PatchApplier.SUFFIX;
+        final String beanName = erasure(type.asType());
+        final List<FieldAccess> fields = resolveFields(type);
+
+        try (PrintWriter out = new PrintWriter(processingEnv.getFiler()
+                .createSourceFile(packageName.isEmpty() ? applierName : packageName + "." + applierName, type)
+                .openWriter())) {
+
+            if (!packageName.isEmpty()) {
+                out.println("package " + packageName + ";");
+                out.println();
+            }
+            out.println("/**");
+            out.println(" * Generated by " + PatchableProcessor.class.getName() + ", do not edit.");
+            out.println(" */");
+            out.println("@SuppressWarnings({\"rawtypes\", \"unchecked\"})");
+            out.println("public final class " + applierName + " implements " + PatchApplier.class.getName() + "<" + beanName + "> {");
+            out.println();
+
+            out.println("    @Override");
+            out.println("    public boolean supports(String field) {");
+            out.println("        switch (field) {");
+            for (FieldAccess field : fields)
+                out.println("            case \"" + field.name + "\":");
+            if (!fields.isEmpty())
+                out.println("                return true;");
+            out.println("            default:");
+            out.println("                return false;");
+            out.println("        }");
+            out.println("    }");
+            out.println();
+
+            out.println("    @Override");
+            out.println("    public Object get(" + beanName + " bean, String field) {");
+            out.println("        switch (field) {");
+            for (FieldAccess field : fields) {
+                out.println("            case \"" + field.name + "\":");
+                out.println("                return bean." + field.name + ";");
+            }
+            out.println("            default:");
+            out.println("                throw new IllegalArgumentException(\"Unsupported field \" + field);");
+            out.println("        }");
+            out.println("    }");
+            out.println();
+
+            out.println("    @Override");
+            out.println("    public void set(" + beanName + " bean, String field, Object value) {");
+            out.println("        switch (field) {");
+            for (FieldAccess field : fields) {
+                out.println("            case \"" + field.name + "\":");
+                out.println("                bean." + field.name + " = (" + field.cast + ") value;");
+                out.println("                return;");
+            }
+            out.println("            default:");
+            out.println("                throw new IllegalArgumentException(\"Unsupported field \" + field);");
+            out.println("        }");
+            out.println("    }");
+            out.println();
+
+            for (TypeKind kind : PRIMITIVE_SETTERS)
+                generatePrimitiveSetter(out, beanName, kind, fields);
+
+            out.println("    @Override");
+            out.println("    public void copy(" + beanName + " target, " + beanName + " source, String field) {");
+            out.println("        switch (field) {");
+            for (FieldAccess field : fields) {
+                out.println("            case \"" + field.name + "\":");
+                out.println("                target." + field.name + " = source." + field.name + ";");
+                out.println("                return;");
+            }
+            out.println("            default:");
+            out.println("                throw new IllegalArgumentException(\"Unsupported field \" + field);");
+            out.println("        }");
+            out.println("    }");
+            out.println();
+            out.println("}");
+
+        } catch (IOException e) {
+            error(type, "Unable to generate " + applierName + ": " + e.getMessage());
+        }
+
+    }
+
+    /**
+     * Overrides the setter of one primitive type, e.g. {@code setInt}, for the fields of that type.
+     * Fields of other types are set through the boxing setter.
+     */
+    private void generatePrimitiveSetter(PrintWriter out, String beanName, TypeKind kind, List<FieldAccess> fields) {
+
+        final List<FieldAccess> primitives = new ArrayList<>();
+        for (FieldAccess field : fields)
+            if (kind == field.kind)
+                primitives.add(field);
+        if (primitives.isEmpty())
+            return;
+
+        final String type = kind.name().toLowerCase(Locale.ROOT);
+        out.println("    @Override");
+        out.println("    public void set" + Character.toUpperCase(type.charAt(0)) + type.substring(1) + "(" + beanName + " bean, String field, " + type + " value) {");
+        out.println("        switch (field) {");
+        for (FieldAccess field : primitives) {
+            out.println("            case \"" + field.name + "\":");
+            out.println("                bean." + field.name + " = value;");
+            out.println("                return;");
+        }
+        out.println("            default:");
+        out.println("                set(bean, field, value);");
+        out.println("        }");
+        out.println("    }");
+        out.println();
+
+    }
+
+    private List<FieldAccess> resolveFields(TypeElement type) {
+
+        final List<FieldAccess> fields = new ArrayList<>();
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+
+            final Set<Modifier> modifiers = field.getModifiers();
+            if (modifiers.contains(Modifier.STATIC))
+                continue;
+
+            final String name = field.getSimpleName().toString();
+            if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.FINAL))
+                processingEnv.getMessager().printMessage(
+                        Diagnostic.Kind.NOTE,
+                        "Field " + name + " is private or final, it will be patched through method handles",
+                        field);
+            else
+                fields.add(new FieldAccess(name, castType(field.asType()), field.asType().getKind()));
+
+        }
+
+        return fields;
+    }
+
+    private String castType(TypeMirror type) {
+        return type.getKind().isPrimitive() ?
+                processingEnv.getTypeUtils().boxedClass(processingEnv.getTypeUtils().getPrimitiveType(type.getKind())).getQualifiedName().toString() :
+                erasure(type);
+    }
+
+    private String erasure(TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private static final class FieldAccess {
+
+        private final String name;
+        private final String cast;
+        private final TypeKind kind;
+
+        private FieldAccess(String name, String cast, TypeKind kind) {
+            this.name = name;
+            this.cast = cast;
+            this.kind = kind;
+        }
+
+    }
+
+}
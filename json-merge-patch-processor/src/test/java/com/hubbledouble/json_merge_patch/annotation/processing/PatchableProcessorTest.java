@@ -0,0 +1,179 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.annotation.processing;
+
+import com.hubbledouble.json_merge_patch.annotation.Patchable;
+import com.hubbledouble.json_merge_patch.constant.PatchMode;
+import com.hubbledouble.json_merge_patch.processor.HTTPMethodProcessor;
+import com.hubbledouble.json_merge_patch.processor.PatchApplier;
+import com.hubbledouble.json_merge_patch.processor.PatchOptions;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.Collections;
+
+public class PatchableProcessorTest {
+
+    private static final String ACCOUNT =
+            "package com.example.model;\n" +
+                    "@com.hubbledouble.json_merge_patch.annotation.Patchable\n" +
+                    "public class Account {\n" +
+                    "    String name;\n" +
+                    "    int balance;\n" +
+                    "    java.util.List<String> tags = new java.util.ArrayList<>();\n" +
+                    "    private String secret;\n" +
+                    "    final String id = \"id\";\n" +
+                    "    private int accessorCalls;\n" +
+                    "    public String getName() { accessorCalls++; return name; }\n" +
+                    "    public void setName(String name) { accessorCalls++; this.name = name; }\n" +
+                    "    public int getBalance() { accessorCalls++; return balance; }\n" +
+                    "    public void setBalance(int balance) { accessorCalls++; this.balance = balance; }\n" +
+                    "    public java.util.List<String> getTags() { accessorCalls++; return java.util.Collections.unmodifiableList(tags); }\n" +
+                    "    public void setTags(java.util.List<String> tags) { accessorCalls++; this.tags = tags; }\n" +
+                    "    public String revealSecret() { return secret; }\n" +
+                    "    public int countAccessorCalls() { return accessorCalls; }\n" +
+                    "}\n";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void process_PatchableClass_GenerateApplier() throws Exception {
+
+        ClassLoader classLoader = compile("com.example.model.Account", ACCOUNT);
+        Class<?> applierClass = classLoader.loadClass("com.example.model.Account" + PatchApplier.SUFFIX);
+        PatchApplier<Object> applier = (PatchApplier<Object>) applierClass.getDeclaredConstructor().newInstance();
+
+        Assert.assertTrue(applier.supports("name"));
+        Assert.assertTrue(applier.supports("balance"));
+        Assert.assertTrue(applier.supports("tags"));
+        Assert.assertFalse(applier.supports("secret"));
+        Assert.assertFalse(applier.supports("id"));
+
+        Class<?> accountClass = classLoader.loadClass("com.example.model.Account");
+        Object account = accountClass.getDeclaredConstructor().newInstance();
+        applier.set(account, "balance", 10);
+        applier.set(account, "tags", Collections.singletonList("vip"));
+        Assert.assertEquals(10, applier.get(account, "balance"));
+        Assert.assertEquals(Collections.singletonList("vip"), applier.get(account, "tags"));
+
+        applier.setInt(account, "balance", 20);
+        Assert.assertEquals(20, applier.get(account, "balance"));
+
+        Object copy = accountClass.getDeclaredConstructor().newInstance();
+        applier.copy(copy, account, "balance");
+        Assert.assertEquals(20, applier.get(copy, "balance"));
+        Assert.assertEquals(0, accountClass.getMethod("countAccessorCalls").invoke(account));
+
+    }
+
+    @Test
+    public void patch_GeneratedApplierExists_NeverCallGettersOrSetters() throws Exception {
+
+        ClassLoader classLoader = compile("com.example.model.Account", ACCOUNT);
+        Class<?> accountClass = classLoader.loadClass("com.example.model.Account");
+
+        for (PatchMode mode : PatchMode.values()) {
+            Object account = accountClass.getDeclaredConstructor().newInstance();
+            HTTPMethodProcessor.patch("{ \"name\" : \"savings\", \"balance\" : 5, \"tags\" : [\"a\", \"c\"] }", account,
+                    PatchOptions.defaults().withMode(mode));
+            HTTPMethodProcessor.patch("{ \"secret\" : \"s\" }", account, PatchOptions.defaults().withMode(PatchMode.STREAMING));
+
+            Assert.assertEquals("s", accountClass.getMethod("revealSecret").invoke(account));
+            Assert.assertEquals(0, accountClass.getMethod("countAccessorCalls").invoke(account));
+            Assert.assertEquals("savings", accountClass.getMethod("getName").invoke(account));
+            Assert.assertEquals(5, accountClass.getMethod("getBalance").invoke(account));
+            Assert.assertEquals(Arrays.asList("a", "c"), accountClass.getMethod("getTags").invoke(account));
+        }
+
+    }
+
+    @Test
+    public void process_InnerClass_ReportError() throws Exception {
+
+        String source =
+                "package com.example.model;\n" +
+                        "public class Outer {\n" +
+                        "    @com.hubbledouble.json_merge_patch.annotation.Patchable\n" +
+                        "    public class Inner { private String name; }\n" +
+                        "}\n";
+
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        Assert.assertFalse(compile(source, "com.example.model.Outer", diagnostics));
+        Assert.assertTrue(diagnostics.getDiagnostics().stream()
+                .anyMatch(d -> Diagnostic.Kind.ERROR == d.getKind() && d.getMessage(null).contains("inner classes")));
+
+    }
+
+    private ClassLoader compile(String className, String source) throws Exception {
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        Assert.assertTrue(diagnostics.getDiagnostics().toString(), compile(source, className, diagnostics));
+        return new URLClassLoader(new URL[]{folder.getRoot().toURI().toURL()}, getClass().getClassLoader());
+    }
+
+    private boolean compile(String source, String className, DiagnosticCollector<JavaFileObject> diagnostics) throws Exception {
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        String classPath = new File(Patchable.class.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath();
+        JavaFileObject file = new SimpleJavaFileObject(
+                URI.create("string:///" + className.replace('.', '/') + JavaFileObject.Kind.SOURCE.extension),
+                JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return source;
+            }
+        };
+
+        JavaCompiler.CompilationTask task = compiler.getTask(
+                null,
+                null,
+                diagnostics,
+                Arrays.asList("-classpath", classPath, "-d", folder.getRoot().getPath(), "-s", folder.getRoot().getPath()),
+                null,
+                Collections.singletonList(file));
+        task.setProcessors(Collections.singletonList(new PatchableProcessor()));
+        return task.call();
+
+    }
+
+}
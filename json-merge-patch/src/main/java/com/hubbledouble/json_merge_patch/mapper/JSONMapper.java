@@ -0,0 +1,366 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.mapper;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.hubbledouble.json_merge_patch.exception.JsonMapperException;
+import com.hubbledouble.json_merge_patch.constant.ErrorMessage;
+import com.hubbledouble.json_merge_patch.exception.ErrorDetail;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Reads requests through an {@link ObjectMapper}, keeping one {@link ObjectReader} per target type
+ * so deserializers are resolved once per type instead of once per request.
+ * <p>
+ * The static methods use a default {@code new ObjectMapper()}. A configured mapper is used through
+ * {@link #of(ObjectMapper)} and {@code PatchOptions.withMapper}; it must not be reconfigured afterwards.
+ *
+ * <pre>
+ * <code>
+ *     PatchOptions options = PatchOptions.defaults().withMapper(JSONMapper.of(objectMapper));
+ * </code>
+ * </pre>
+ *
+ * @author Jorge Saldivar
+ */
+public class JSONMapper {
+
+    private static final JSONMapper DEFAULT = new JSONMapper(new ObjectMapper());
+    private static final int MAX_GENERIC_READERS = 256;
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader treeReader;
+    private final ClassValue<ObjectReader> readersByClass;
+    private final ConcurrentMap<JavaType, ObjectReader> genericReaders = new ConcurrentHashMap<>();
+
+    private JSONMapper(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.treeReader = objectMapper.readerFor(JsonNode.class);
+        this.readersByClass = new ClassValue<ObjectReader>() {
+            @Override
+            protected ObjectReader computeValue(Class<?> type) {
+                return objectMapper.readerFor(type);
+            }
+        };
+    }
+
+    public static JSONMapper defaults() {
+        return DEFAULT;
+    }
+
+    /**
+     * @param objectMapper - fully configured mapper
+     * @return
+     */
+    public static JSONMapper of(ObjectMapper objectMapper) {
+        return new JSONMapper(objectMapper);
+    }
+
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    public static <T> T jsonStringToObject(String request, Class<T> clazz) {
+        return DEFAULT.readValue(request, clazz);
+    }
+
+    public static JsonNode jsonStringToJsonNode(String request) {
+        try (JsonParser parser = DEFAULT.createParser(request)) {
+            return DEFAULT.readTree(parser);
+        } catch (IOException e) {
+            throw mapperException("request", e);
+        }
+    }
+
+    public static JsonParser jsonStringToParser(String request) {
+        return DEFAULT.createParser(request);
+    }
+
+    public static JsonNode parserToJsonNode(JsonParser parser) {
+        return DEFAULT.readTree(parser);
+    }
+
+    public static <T> T jsonNodeToObject(JsonNode request, Class<T> clazz) {
+        return DEFAULT.readValue(request, clazz);
+    }
+
+    public static String jsonNodeToString(JsonNode request) {
+        return DEFAULT.writeValueAsString(request);
+    }
+
+    /**
+     * Resolves the type through the type factory of this mapper, so its type modifiers apply.
+     *
+     * @param type
+     * @return
+     */
+    public JavaType constructType(Type type) {
+        return objectMapper.getTypeFactory().constructType(type);
+    }
+
+    /**
+     * Json pointer of the parser's current position, used as error location.
+     *
+     * @param parser
+     * @return
+     */
+    public static String location(JsonParser parser) {
+        String pointer = parser.getParsingContext().pathAsPointer().toString();
+        return pointer.isEmpty() ? "request" : pointer;
+    }
+
+    public JsonParser createParser(String request) {
+        try {
+            return objectMapper.getFactory().createParser(request);
+        } catch (IOException e) {
+            throw mapperException("request", e);
+        }
+    }
+
+    /**
+     * Parser over a range of bytes, decompressing gzip and deflate encoded content.
+     *
+     * @param request
+     * @param offset
+     * @param length
+     * @return
+     */
+    public JsonParser createParser(byte[] request, int offset, int length) {
+        try {
+            return length > 1 && isCompressed(request[offset], request[offset + 1]) ?
+                    objectMapper.getFactory().createParser(decompress(new ByteArrayInputStream(request, offset, length))) :
+                    objectMapper.getFactory().createParser(request, offset, length);
+        } catch (IOException e) {
+            throw mapperException("request", e);
+        }
+    }
+
+    /**
+     * Parser over the remaining bytes of a buffer, decompressing gzip and deflate encoded content.
+     * The buffer position is left untouched.
+     *
+     * @param request
+     * @return
+     */
+    public JsonParser createParser(ByteBuffer request) {
+        if (request.hasArray())
+            return createParser(request.array(), request.arrayOffset() + request.position(), request.remaining());
+        return createParser(new ByteBufferBackedInputStream(request.duplicate()));
+    }
+
+    /**
+     * Parser reading the stream as it goes, decompressing gzip and deflate encoded content.
+     * Closing the parser does not close the stream.
+     *
+     * @param request
+     * @return
+     */
+    public JsonParser createParser(InputStream request) {
+        try {
+            final InputStream stream = new BufferedInputStream(new FilterInputStream(request) {
+                @Override
+                public void close() {
+                }
+            });
+            stream.mark(2);
+            final int first = stream.read();
+            final int second = stream.read();
+            stream.reset();
+            return objectMapper.getFactory().createParser(
+                    isCompressed((byte) first, (byte) second) ? decompress(stream) : stream);
+        } catch (IOException e) {
+            throw mapperException("request", e);
+        }
+    }
+
+    /**
+     * Parser reading the characters as it goes. Closing the parser does not close the reader.
+     *
+     * @param request
+     * @return
+     */
+    public JsonParser createParser(Reader request) {
+        try {
+            return objectMapper.getFactory().createParser(new FilterReader(request) {
+                @Override
+                public void close() {
+                }
+            });
+        } catch (IOException e) {
+            throw mapperException("request", e);
+        }
+    }
+
+    /**
+     * Parser walking an already parsed request.
+     *
+     * @param request
+     * @return
+     */
+    public JsonParser createParser(JsonNode request) {
+        return request.traverse(objectMapper);
+    }
+
+    /**
+     * Reads the value at the current token of the parser as a tree, or the first value when not advanced yet.
+     *
+     * @param parser
+     * @return
+     */
+    public JsonNode readTree(JsonParser parser) {
+        try {
+            final JsonNode node = treeReader.readTree(parser);
+            if (null == node)
+                throw new JsonMapperException(
+                        ErrorMessage.MAPPER,
+                        Collections.singletonList(new ErrorDetail("request", "Request is empty")));
+            return node;
+        } catch (IOException e) {
+            throw mapperException("request", e);
+        }
+    }
+
+    public <T> T readValue(String request, Class<T> clazz) {
+        try {
+            return readerFor(clazz).readValue(request);
+        } catch (IOException e) {
+            throw mapperException("request", e);
+        }
+    }
+
+    public <T> T readValue(JsonNode request, Class<T> clazz) {
+        try {
+            return readerFor(clazz).readValue(request);
+        } catch (IOException e) {
+            throw mapperException("request", e);
+        }
+    }
+
+    public <T> T readValue(JsonNode request, JavaType type) {
+        try {
+            return readerFor(type).readValue(request);
+        } catch (IOException e) {
+            throw mapperException("request", e);
+        }
+    }
+
+    /**
+     * Binds the value at the current token of the parser, leaving the parser at its last token.
+     *
+     * @param parser
+     * @param type
+     * @param <T>
+     * @return
+     */
+    public <T> T readValue(JsonParser parser, JavaType type) {
+        try {
+            return readerFor(type).<T>readValue(parser);
+        } catch (IOException e) {
+            throw mapperException(location(parser), e);
+        }
+    }
+
+    public String writeValueAsString(JsonNode request) {
+        try {
+            return objectMapper.writeValueAsString(request);
+        } catch (IOException e) {
+            throw mapperException("request", e);
+        }
+    }
+
+    ObjectReader readerFor(Class<?> clazz) {
+        return readersByClass.get(clazz);
+    }
+
+    /**
+     * Readers of plain class types are cached per class, and released with it.
+     * Readers of parameterized types are cached up to a bound, then built on every call,
+     * so the classes they refer to are never pinned beyond it.
+     */
+    ObjectReader readerFor(JavaType type) {
+        if (type.getBindings().isEmpty())
+            return readersByClass.get(type.getRawClass());
+        final ObjectReader reader = genericReaders.get(type);
+        if (null != reader)
+            return reader;
+        if (genericReaders.size() >= MAX_GENERIC_READERS)
+            return objectMapper.readerFor(type);
+        return genericReaders.computeIfAbsent(type, objectMapper::readerFor);
+    }
+
+    private static JsonMapperException mapperException(String location, IOException e) {
+        return new JsonMapperException(
+                ErrorMessage.MAPPER,
+                Collections.singletonList(new ErrorDetail(location, e.getMessage())));
+    }
+
+    /**
+     * Json text never starts with the gzip magic number (0x1f 0x8b) nor with a zlib header (0x78 ..),
+     * so both can be told apart from plain content by their first two bytes.
+     */
+    private static boolean isCompressed(byte first, byte second) {
+        final int cmf = first & 0xff;
+        final int flg = second & 0xff;
+        return (0x1f == cmf && 0x8b == flg) || (0x78 == cmf && 0 == ((cmf << 8) | flg) % 31);
+    }
+
+    private static InputStream decompress(InputStream stream) throws IOException {
+        return 0x1f == peek(stream) ? new GZIPInputStream(stream) : new InflaterInputStream(stream);
+    }
+
+    private static int peek(InputStream stream) throws IOException {
+        if (!stream.markSupported())
+            return -1;
+        stream.mark(1);
+        final int first = stream.read();
+        stream.reset();
+        return first;
+    }
+
+}
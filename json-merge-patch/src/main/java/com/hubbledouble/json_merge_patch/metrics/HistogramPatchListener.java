@@ -0,0 +1,151 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.metrics;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Listener aggregating metrics in memory, into histograms per target class.
+ * Patches of null objects have no target class and are not recorded.
+ *
+ * <pre>
+ * Skeleton example:
+ * <code>
+ *
+ *     HistogramPatchListener metrics = new HistogramPatchListener();
+ *     PatchOptions options = PatchOptions.defaults().withListener(metrics);
+ *     ...
+ *     long p99 = metrics.get(Person.class).getNanos(PatchPhase.APPLY).getPercentile(99);
+ *
+ * </code>
+ * </pre>
+ *
+ * @author Jorge Saldivar
+ */
+public final class HistogramPatchListener implements PatchListener {
+
+    private final Map<Class<?>, Stats> stats = new ConcurrentHashMap<>();
+
+    @Override
+    public void onPatch(PatchMetrics metrics) {
+        if (null != metrics.getTargetClass())
+            stats.computeIfAbsent(metrics.getTargetClass(), targetClass -> new Stats()).record(metrics);
+    }
+
+    /**
+     * @param targetClass
+     * @return metrics of the class, null when none of its objects was patched
+     */
+    public Stats get(Class<?> targetClass) {
+        return stats.get(targetClass);
+    }
+
+    /**
+     * @return live view of the metrics, keyed by target class
+     */
+    public Map<Class<?>, Stats> getAll() {
+        return Collections.unmodifiableMap(stats);
+    }
+
+    /**
+     * Metrics of the objects of a single class.
+     */
+    public static final class Stats {
+
+        private final Map<PatchPhase, Histogram> nanos = new EnumMap<>(PatchPhase.class);
+        private final Histogram totalNanos = new Histogram();
+        private final Histogram requestSize = new Histogram();
+        private final Histogram fieldsVisited = new Histogram();
+        private final Histogram fieldsWritten = new Histogram();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder violations = new LongAdder();
+
+        private Stats() {
+            for (PatchPhase phase : PatchPhase.values())
+                nanos.put(phase, new Histogram());
+        }
+
+        private void record(PatchMetrics metrics) {
+            for (PatchPhase phase : PatchPhase.values())
+                nanos.get(phase).record(metrics.getNanos(phase));
+            totalNanos.record(metrics.getTotalNanos());
+            if (metrics.getRequestSize() >= 0)
+                requestSize.record(metrics.getRequestSize());
+            fieldsVisited.record(metrics.getFieldsVisited());
+            fieldsWritten.record(metrics.getFieldsWritten());
+            if (metrics.isFailed())
+                failures.increment();
+            violations.add(metrics.getViolations());
+        }
+
+        public Histogram getNanos(PatchPhase phase) {
+            return nanos.get(phase);
+        }
+
+        public Histogram getTotalNanos() {
+            return totalNanos;
+        }
+
+        /**
+         * Only requests of known size are recorded, see {@link PatchMetrics#getRequestSize()}.
+         *
+         * @return
+         */
+        public Histogram getRequestSize() {
+            return requestSize;
+        }
+
+        public Histogram getFieldsVisited() {
+            return fieldsVisited;
+        }
+
+        public Histogram getFieldsWritten() {
+            return fieldsWritten;
+        }
+
+        public long getPatches() {
+            return totalNanos.getCount();
+        }
+
+        public long getFailures() {
+            return failures.sum();
+        }
+
+        public long getViolations() {
+            return violations.sum();
+        }
+
+    }
+
+}
@@ -0,0 +1,128 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.metrics;
+
+/**
+ * Measures of a single patched object.
+ *
+ * @author Jorge Saldivar
+ */
+public final class PatchMetrics {
+
+    private final Class<?> targetClass;
+    private final long requestSize;
+    private final long[] nanos;
+    private final int fieldsVisited;
+    private final int fieldsWritten;
+    private final int violations;
+    private final boolean failed;
+
+    public PatchMetrics(Class<?> targetClass,
+                        long requestSize,
+                        long[] nanos,
+                        int fieldsVisited,
+                        int fieldsWritten,
+                        int violations,
+                        boolean failed) {
+        this.targetClass = targetClass;
+        this.requestSize = requestSize;
+        this.nanos = nanos.clone();
+        this.fieldsVisited = fieldsVisited;
+        this.fieldsWritten = fieldsWritten;
+        this.violations = violations;
+        this.failed = failed;
+    }
+
+    public Class<?> getTargetClass() {
+        return targetClass;
+    }
+
+    /**
+     * Length of the request in bytes, UTF-8 encoded for {@code String} requests,
+     * -1 when unknown, e.g. for streams, readers and parsed requests.
+     *
+     * @return
+     */
+    public long getRequestSize() {
+        return requestSize;
+    }
+
+    /**
+     * @param phase
+     * @return nanoseconds spent in the phase
+     */
+    public long getNanos(PatchPhase phase) {
+        return nanos[phase.ordinal()];
+    }
+
+    public long getTotalNanos() {
+        long total = 0;
+        for (long phase : nanos)
+            total += phase;
+        return total;
+    }
+
+    /**
+     * Request keys looked up in the object, nested ones included. Zero for map and collection roots.
+     *
+     * @return
+     */
+    public int getFieldsVisited() {
+        return fieldsVisited;
+    }
+
+    /**
+     * Properties set to a new value. Zero for map and collection roots.
+     *
+     * @return
+     */
+    public int getFieldsWritten() {
+        return fieldsWritten;
+    }
+
+    /**
+     * Constraint violations found by the validation, zero when it passed.
+     *
+     * @return
+     */
+    public int getViolations() {
+        return violations;
+    }
+
+    /**
+     * Whether the patch threw, validation included.
+     *
+     * @return
+     */
+    public boolean isFailed() {
+        return failed;
+    }
+
+}
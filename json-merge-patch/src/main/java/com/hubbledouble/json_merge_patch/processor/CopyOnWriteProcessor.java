@@ -0,0 +1,185 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.processor;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.hubbledouble.json_merge_patch.constant.ErrorMessage;
+import com.hubbledouble.json_merge_patch.exception.ErrorDetail;
+import com.hubbledouble.json_merge_patch.exception.FieldUpdateException;
+import com.hubbledouble.json_merge_patch.exception.JsonMapperException;
+import com.hubbledouble.json_merge_patch.mapper.JSONMapper;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Processor for copy-on-write patching.
+ * Leaves the patched object untouched and builds the patched state next to it: the objects and maps on the paths
+ * the request changes are shallow copies, while every subtree the request does not reach is shared with the original.
+ *
+ * @author Jorge Saldivar
+ */
+class CopyOnWriteProcessor {
+
+    private CopyOnWriteProcessor() {
+    }
+
+    /**
+     * @return patched copy of the object
+     */
+    static <T> T patch(JsonNode request, T object, PatchContext context) {
+
+        if (object instanceof Collection)
+            return (T) context.getOptions().getMapper().readValue(request, object.getClass());
+
+        if (!request.isObject())
+            throw new JsonMapperException(
+                    ErrorMessage.MAPPER,
+                    Collections.singletonList(new ErrorDetail("request", "Request must be a json object")));
+
+        return object instanceof Map ?
+                (T) copyMap((Map<Object, Object>) object, request, context.getOptions().getMapper().constructType(object.getClass()), context) :
+                (T) copyObject(object, request, context);
+
+    }
+
+    private static Object copyObject(Object object, JsonNode request, PatchContext context) {
+
+        final PatchPlan plan = PatchPlan.of(object.getClass());
+        final Object copy = copy(plan, object);
+
+        final Iterator<Map.Entry<String, JsonNode>> fields = request.fields();
+        while (fields.hasNext()) {
+
+            final Map.Entry<String, JsonNode> field = fields.next();
+            context.visitField();
+            final PatchProperty property = context.property(plan, field.getKey());
+            if (null == property) {
+                if (context.isFailOnUnknownProperties())
+                    throw new JsonMapperException(
+                            ErrorMessage.MAPPER,
+                            Collections.singletonList(new ErrorDetail(field.getKey(), "Unrecognized field \"" + field.getKey() + "\"")));
+                continue;
+            }
+
+            try {
+                property.set(copy, copyValue(property.get(object), field.getValue(), property.getName(), property.getJavaType(context.getOptions().getMapper()), context));
+            } catch (IllegalArgumentException e) {
+                throw new FieldUpdateException(
+                        ErrorMessage.INTERNAL,
+                        Collections.singletonList(new ErrorDetail(property.getName(), e.getMessage())));
+            }
+
+        }
+
+        return copy;
+
+    }
+
+    private static Map<Object, Object> copyMap(Map<Object, Object> object, JsonNode request, JavaType type, PatchContext context) {
+
+        final JSONMapper mapper = context.getOptions().getMapper();
+        final JavaType mapType = FieldProcessor.mapType(type, mapper);
+        final Map<Object, Object> copy = copy(object);
+
+        final Iterator<Map.Entry<String, JsonNode>> fields = request.fields();
+        while (fields.hasNext()) {
+            final Map.Entry<String, JsonNode> field = fields.next();
+            context.visitField();
+            final Object key = FieldProcessor.mapKey(field.getKey(), mapType, mapper);
+            if (field.getValue().isNull())
+                copy.remove(key);
+            else
+                copy.put(key, copyValue(object.get(key), field.getValue(), field.getKey(), mapType.getContentType(), context));
+        }
+
+        return copy;
+
+    }
+
+    /**
+     * Patched value of a property or map entry: objects are merged into copies of maps and beans, any other value is bound.
+     */
+    private static Object copyValue(Object value, JsonNode request, String name, JavaType type, PatchContext context) {
+
+        final Object patched;
+        if (request.isObject() && value instanceof Map) {
+            final int mark = context.enter(name);
+            patched = copyMap((Map<Object, Object>) value, request, type, context);
+            context.leave(mark);
+            context.replaced(name);
+        } else if (request.isObject() && null != value) {
+            // objects of classes declared elsewhere are left as they are, as in the other modes
+            if (PatchPlan.of(value.getClass()).isDeclaredIn(context.getDeclaringPackageName())) {
+                final int mark = context.enter(name);
+                patched = copyObject(value, request, context);
+                context.leave(mark);
+            } else {
+                patched = value;
+            }
+        } else {
+            patched = request.isNull() ? null : context.getOptions().getMapper().readValue(
+                    request.isObject() && type.isMapLikeType() ? PatchComposer.withoutNulls(request) : request,
+                    type);
+            context.replaced(name);
+        }
+        return patched;
+
+    }
+
+    private static Object copy(PatchPlan plan, Object object) {
+        try {
+            return plan.copy(object);
+        } catch (ReflectiveOperationException e) {
+            throw new FieldUpdateException(
+                    ErrorMessage.INTERNAL,
+                    Collections.singletonList(new ErrorDetail(object.getClass().getName(), "Object cannot be copied: " + e)));
+        }
+    }
+
+    /**
+     * Copy of the map of the same class when it has a no argument constructor, insertion ordered otherwise.
+     */
+    private static Map<Object, Object> copy(Map<Object, Object> map) {
+        Map<Object, Object> copy;
+        try {
+            copy = map.getClass().getConstructor().newInstance();
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            copy = new LinkedHashMap<>();
+        }
+        copy.putAll(map);
+        return copy;
+    }
+
+}
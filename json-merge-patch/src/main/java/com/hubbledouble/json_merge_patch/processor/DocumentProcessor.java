@@ -0,0 +1,197 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.processor;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.hubbledouble.json_merge_patch.constant.ErrorMessage;
+import com.hubbledouble.json_merge_patch.exception.ErrorDetail;
+import com.hubbledouble.json_merge_patch.exception.JsonMapperException;
+import com.hubbledouble.json_merge_patch.exception.JsonMergePatchException;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Json Merge Patch for documents kept as json trees instead of beans.
+ * The request is merged into the document in place, following RFC-7386: objects are merged recursively,
+ * null removes a key and any other value replaces it. The document is neither copied nor bound to a class.
+ *
+ * <pre>
+ * Skeleton example:
+ * <code>
+ *
+ *     ObjectNode document = repository.findById(pathParamId);
+ *     DocumentProcessor.patch(json, document);
+ *     repository.save(document);
+ *
+ * </code>
+ * </pre>
+ * <p>
+ * The depth and size limits of {@link PatchOptions} apply; validation, the mode and the cache do not.
+ * Limits are checked on the whole request before the document is changed, so a request over a limit leaves it untouched.
+ *
+ * @author Jorge Saldivar
+ * @see <a href="https://tools.ietf.org/html/rfc7386">RFC-7386</a>
+ */
+public final class DocumentProcessor {
+
+    private DocumentProcessor() {
+    }
+
+    /**
+     * @param request  - partial json request, must be a json object
+     * @param document - document where the partial json request will merge
+     * @throws JsonMergePatchException
+     */
+    public static void patch(String request, ObjectNode document) {
+        patch(request, document, PatchOptions.defaults());
+    }
+
+    /**
+     * @see #patch(String, ObjectNode)
+     */
+    public static void patch(String request, ObjectNode document, PatchOptions options) {
+
+        final PatchRecorder recorder = PatchRecorder.start(options, document, PatchRecorder.requestSize(options, request));
+        final JsonNode tree;
+        try (JsonParser parser = options.getMapper().createParser(request)) {
+            tree = options.getMapper().readTree(parser);
+        } catch (JsonMergePatchException e) {
+            recorder.failed(e);
+            throw e;
+        } catch (Exception e) {
+            recorder.failed(e);
+            throw new JsonMergePatchException(
+                    ErrorMessage.INTERNAL,
+                    Collections.singletonList(new ErrorDetail("unknown", e.getMessage())));
+        }
+
+        patch(tree, document, options, false, recorder);
+    }
+
+    /**
+     * Same as {@link #patch(String, ObjectNode)}, for a request already parsed.
+     * The request is not modified and shares no node with the document afterwards.
+     *
+     * @param request  - partial json request, must be a json object
+     * @param document - document where the partial json request will merge
+     * @throws JsonMergePatchException
+     */
+    public static void patch(JsonNode request, ObjectNode document) {
+        patch(request, document, PatchOptions.defaults());
+    }
+
+    /**
+     * @see #patch(JsonNode, ObjectNode)
+     */
+    public static void patch(JsonNode request, ObjectNode document, PatchOptions options) {
+        patch(request, document, options, true, PatchRecorder.start(options, document, -1));
+    }
+
+    /**
+     * @param copy - whether values are copied out of the request before being set into the document
+     */
+    private static void patch(JsonNode request, ObjectNode document, PatchOptions options, boolean copy, PatchRecorder recorder) {
+
+        recorder.applying();
+        final PatchContext context = new PatchContext(null, options);
+        recorder.counting(context);
+        try {
+
+            if (!request.isObject())
+                throw new JsonMapperException(
+                        ErrorMessage.MAPPER,
+                        Collections.singletonList(new ErrorDetail("request", "Request must be a json object")));
+
+            if (Integer.MAX_VALUE != options.getMaxFields() || Integer.MAX_VALUE != options.getMaxDepth())
+                checkLimits(request, new PatchContext(null, options));
+            merge(document, request, context, copy);
+
+        } catch (RuntimeException e) {
+            recorder.failed(e);
+            throw e;
+        }
+
+        recorder.succeeded();
+
+    }
+
+    /**
+     * Walks the request as {@link #merge(ObjectNode, JsonNode, PatchContext, boolean)} does, without touching the document.
+     *
+     * @throws JsonMapperException when the request is over the depth or size limits
+     */
+    private static void checkLimits(JsonNode request, PatchContext context) {
+
+        final Iterator<Map.Entry<String, JsonNode>> fields = request.fields();
+        while (fields.hasNext()) {
+            final Map.Entry<String, JsonNode> field = fields.next();
+            context.visitField();
+            if (field.getValue().isObject()) {
+                final int mark = context.enter(field.getKey());
+                checkLimits(field.getValue(), context);
+                context.leave(mark);
+            }
+        }
+
+    }
+
+    private static void merge(ObjectNode document, JsonNode request, PatchContext context, boolean copy) {
+
+        final Iterator<Map.Entry<String, JsonNode>> fields = request.fields();
+        while (fields.hasNext()) {
+
+            final Map.Entry<String, JsonNode> field = fields.next();
+            final String key = field.getKey();
+            final JsonNode value = field.getValue();
+            context.visitField();
+
+            if (value.isObject()) {
+                final JsonNode current = document.get(key);
+                final int mark = context.enter(key);
+                merge(null != current && current.isObject() ? (ObjectNode) current : document.putObject(key), value, context, copy);
+                context.leave(mark);
+                continue;
+            }
+
+            if (value.isNull())
+                document.remove(key);
+            else
+                document.set(key, copy ? value.deepCopy() : value);
+            context.replaced(key);
+
+        }
+
+    }
+
+}
@@ -0,0 +1,278 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.processor;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.hubbledouble.json_merge_patch.constant.ErrorMessage;
+import com.hubbledouble.json_merge_patch.exception.ErrorDetail;
+import com.hubbledouble.json_merge_patch.exception.JsonMapperException;
+import com.hubbledouble.json_merge_patch.exception.JsonMergePatchException;
+import com.hubbledouble.json_merge_patch.mapper.JSONMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Json Merge Patch for documents too large to be held in memory.
+ * The document is read token by token and copied to the output with the request applied on the way,
+ * following RFC-7386 like {@link DocumentProcessor}. Only the request and one object per nesting level
+ * of the request are held in memory, whatever the size of the document.
+ *
+ * <pre>
+ * Skeleton example:
+ * <code>
+ *
+ *     try (InputStream in = Files.newInputStream(source); OutputStream out = Files.newOutputStream(target)) {
+ *         DocumentStreamProcessor.patch(json, in, out);
+ *     }
+ *
+ * </code>
+ * </pre>
+ * <p>
+ * Members of the document keep their order; members the request adds are written at the end of their object.
+ * The depth and size limits of {@link PatchOptions} apply. A failure leaves the output written so far incomplete.
+ *
+ * @author Jorge Saldivar
+ * @see <a href="https://tools.ietf.org/html/rfc7386">RFC-7386</a>
+ */
+public final class DocumentStreamProcessor {
+
+    private DocumentStreamProcessor() {
+    }
+
+    /**
+     * Patches the document read from the stream, gzip and deflate encoded documents included,
+     * and writes the result as UTF-8. Neither stream is closed.
+     *
+     * @param request  - partial json request
+     * @param document - json document to patch
+     * @param result   - output of the patched document
+     * @throws JsonMergePatchException
+     */
+    public static void patch(String request, InputStream document, OutputStream result) {
+        patch(request, document, result, PatchOptions.defaults());
+    }
+
+    /**
+     * @see #patch(String, InputStream, OutputStream)
+     */
+    public static void patch(String request, InputStream document, OutputStream result, PatchOptions options) {
+        final JsonNode tree = readRequest(request, options.getMapper());
+        try (JsonParser parser = options.getMapper().createParser(document);
+             JsonGenerator generator = options.getMapper().getObjectMapper().getFactory().createGenerator(result, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            patch(tree, parser, generator, options);
+        } catch (JsonMergePatchException e) {
+            throw e;
+        } catch (IOException e) {
+            throw internalException(e);
+        }
+    }
+
+    /**
+     * Same as {@link #patch(String, InputStream, OutputStream)}, reading the document value at the parser's current
+     * token, or at the first one when the parser has not been advanced yet, and writing the result as the next value
+     * of the generator. The parser is left at the last token of the document; neither is closed nor flushed.
+     *
+     * @param request   - partial json request
+     * @param document  - parser over the json document to patch
+     * @param generator - output of the patched document
+     * @param options   - patch options, see {@link PatchOptions}
+     * @throws JsonMergePatchException
+     */
+    public static void patch(String request, JsonParser document, JsonGenerator generator, PatchOptions options) {
+        patch(readRequest(request, options.getMapper()), document, generator, options);
+    }
+
+    /**
+     * @see #patch(String, JsonParser, JsonGenerator, PatchOptions)
+     */
+    public static void patch(JsonNode request, JsonParser document, JsonGenerator generator, PatchOptions options) {
+
+        final DocumentWriter writer = new DocumentWriter(
+                generator,
+                options.getMapper().getObjectMapper().writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE),
+                new PatchContext(null, options));
+        try {
+
+            if (!document.hasCurrentToken())
+                document.nextToken();
+            if (null == document.currentToken())
+                throw new JsonMapperException(
+                        ErrorMessage.MAPPER,
+                        Collections.singletonList(new ErrorDetail("document", "Document is empty")));
+
+            if (!request.isObject()) {
+                document.skipChildren();
+                writer.writeValue(request);
+            } else if (JsonToken.START_OBJECT == document.currentToken()) {
+                writer.mergeObject(document, request);
+            } else {
+                document.skipChildren();
+                writer.writeWithoutNulls(request);
+            }
+
+        } catch (JsonParseException e) {
+            throw new JsonMapperException(
+                    ErrorMessage.MAPPER,
+                    Collections.singletonList(new ErrorDetail(JSONMapper.location(document), e.getOriginalMessage())));
+        } catch (IOException e) {
+            throw internalException(e);
+        }
+
+    }
+
+    private static JsonNode readRequest(String request, JSONMapper mapper) {
+        try (JsonParser parser = mapper.createParser(request)) {
+            return mapper.readTree(parser);
+        } catch (JsonMergePatchException e) {
+            throw e;
+        } catch (IOException e) {
+            throw internalException(e);
+        }
+    }
+
+    private static JsonMergePatchException internalException(IOException e) {
+        return new JsonMergePatchException(
+                ErrorMessage.INTERNAL,
+                Collections.singletonList(new ErrorDetail("unknown", e.getMessage())));
+    }
+
+    private static final class DocumentWriter {
+
+        private final JsonGenerator generator;
+        private final ObjectWriter valueWriter;
+        private final PatchContext context;
+
+        DocumentWriter(JsonGenerator generator, ObjectWriter valueWriter, PatchContext context) {
+            this.generator = generator;
+            this.valueWriter = valueWriter;
+            this.context = context;
+        }
+
+        /**
+         * Copies the document object at the parser's current token, merging the request into it.
+         */
+        void mergeObject(JsonParser document, JsonNode request) throws IOException {
+
+            final Set<String> applied = new HashSet<>();
+            generator.writeStartObject();
+
+            while (JsonToken.FIELD_NAME == document.nextToken()) {
+
+                final String name = document.getCurrentName();
+                final JsonToken token = document.nextToken();
+                final JsonNode value = request.get(name);
+                if (null == value || !applied.add(name)) {
+                    generator.writeFieldName(name);
+                    generator.copyCurrentStructure(document);
+                    continue;
+                }
+
+                context.visitField();
+                if (value.isObject() && JsonToken.START_OBJECT == token) {
+                    final int mark = context.enter(name);
+                    generator.writeFieldName(name);
+                    mergeObject(document, value);
+                    context.leave(mark);
+                    continue;
+                }
+
+                document.skipChildren();
+                writeMember(name, value);
+
+            }
+
+            final Iterator<Map.Entry<String, JsonNode>> fields = request.fields();
+            while (fields.hasNext()) {
+                final Map.Entry<String, JsonNode> field = fields.next();
+                if (!applied.contains(field.getKey())) {
+                    context.visitField();
+                    writeMember(field.getKey(), field.getValue());
+                }
+            }
+
+            generator.writeEndObject();
+
+        }
+
+        /**
+         * Writes a member the document did not have or that the request replaces, nothing when it is removed.
+         */
+        private void writeMember(String name, JsonNode value) throws IOException {
+            if (value.isNull())
+                return;
+            generator.writeFieldName(name);
+            if (value.isObject()) {
+                final int mark = context.enter(name);
+                writeWithoutNulls(value);
+                context.leave(mark);
+            } else {
+                writeValue(value);
+            }
+            context.replaced(name);
+        }
+
+        /**
+         * Result of applying the request to an empty object.
+         */
+        void writeWithoutNulls(JsonNode request) throws IOException {
+            generator.writeStartObject();
+            final Iterator<Map.Entry<String, JsonNode>> fields = request.fields();
+            while (fields.hasNext()) {
+                final Map.Entry<String, JsonNode> field = fields.next();
+                writeMember(field.getKey(), field.getValue());
+            }
+            generator.writeEndObject();
+        }
+
+        /**
+         * Written through the mapper, so generators without a codec are supported.
+         */
+        void writeValue(JsonNode value) throws IOException {
+            valueWriter.writeValue(generator, value);
+        }
+
+    }
+
+}
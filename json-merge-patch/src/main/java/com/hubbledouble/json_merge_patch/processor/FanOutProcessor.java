@@ -0,0 +1,113 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.processor;
+
+import com.hubbledouble.json_merge_patch.constant.ErrorMessage;
+import com.hubbledouble.json_merge_patch.exception.ErrorDetail;
+import com.hubbledouble.json_merge_patch.exception.JsonMergePatchException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.RandomAccess;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Applies one patch to every object of a collection, split in chunks run on an executor.
+ * A failing object is recorded and does not stop the others.
+ *
+ * @author Jorge Saldivar
+ */
+class FanOutProcessor {
+
+    /**
+     * Chunks per available processor, so uneven chunks still keep every worker busy.
+     */
+    private static final int CHUNKS_PER_PROCESSOR = 4;
+
+    private FanOutProcessor() {
+    }
+
+    static <T> List<PatchFailure<T>> patch(Collection<T> objects, Executor executor, Consumer<T> patch) {
+
+        final List<T> elements = objects instanceof List && objects instanceof RandomAccess ? (List<T>) objects : new ArrayList<>(objects);
+        final int size = elements.size();
+        final int chunks = Math.max(1, Math.min(size, Runtime.getRuntime().availableProcessors() * CHUNKS_PER_PROCESSOR));
+        final int chunkSize = (size + chunks - 1) / Math.max(1, chunks);
+        final Queue<PatchFailure<T>> failures = new ConcurrentLinkedQueue<>();
+
+        final List<CompletableFuture<Void>> futures = new ArrayList<>(chunks);
+        for (int from = 0; from < size; from += chunkSize) {
+            final int start = from;
+            final int end = Math.min(size, from + chunkSize);
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int index = start; index < end; index++)
+                    patch(index, elements.get(index), patch, failures);
+            }, executor));
+        }
+
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            throw new JsonMergePatchException(
+                    ErrorMessage.INTERNAL,
+                    Collections.singletonList(new ErrorDetail("unknown", e.getCause().getMessage())));
+        }
+
+        final List<PatchFailure<T>> sorted = new ArrayList<>(failures);
+        sorted.sort(Comparator.comparingInt(PatchFailure::getIndex));
+        return sorted;
+
+    }
+
+    private static <T> void patch(int index, T object, Consumer<T> patch, Queue<PatchFailure<T>> failures) {
+
+        try {
+            patch.accept(object);
+
+        } catch (JsonMergePatchException e) {
+            failures.add(new PatchFailure<>(index, object, e));
+
+        } catch (Exception e) {
+            failures.add(new PatchFailure<>(index, object, new JsonMergePatchException(
+                    ErrorMessage.INTERNAL,
+                    Collections.singletonList(new ErrorDetail("unknown", e.getMessage())))));
+        }
+
+    }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.processor;
+
+/**
+ * Reads and writes a single field of a bean.
+ * Primitive fields get specialised paths so their values are never boxed.
+ * <p>
+ * Failures surface as {@link IllegalArgumentException}, the same way {@link java.lang.reflect.Field} reports
+ * an object that is not an instance of the declaring class.
+ *
+ * @author Jorge Saldivar
+ */
+abstract class FieldAccessor {
+
+    abstract Object get(Object bean);
+
+    abstract void set(Object bean, Object value);
+
+    /**
+     * Copies the field value from one bean to another.
+     *
+     * @param target
+     * @param source
+     */
+    void copy(Object target, Object source) {
+        set(target, get(source));
+    }
+
+    void setInt(Object bean, int value) {
+        set(bean, value);
+    }
+
+    void setLong(Object bean, long value) {
+        set(bean, value);
+    }
+
+    void setFloat(Object bean, float value) {
+        set(bean, value);
+    }
+
+    void setDouble(Object bean, double value) {
+        set(bean, value);
+    }
+
+    void setBoolean(Object bean, boolean value) {
+        set(bean, value);
+    }
+
+}
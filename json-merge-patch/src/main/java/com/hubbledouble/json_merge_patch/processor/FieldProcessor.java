@@ -0,0 +1,271 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.processor;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.hubbledouble.json_merge_patch.constant.ErrorMessage;
+import com.hubbledouble.json_merge_patch.exception.ErrorDetail;
+import com.hubbledouble.json_merge_patch.exception.FieldUpdateException;
+import com.hubbledouble.json_merge_patch.exception.ValidationException;
+import com.hubbledouble.json_merge_patch.mapper.JSONMapper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedSet;
+
+/**
+ * Field processor updater
+ *
+ * @author Jorge Saldivar
+ */
+class FieldProcessor {
+
+
+    private FieldProcessor() {
+    }
+
+    static <T> void updateValue(T object, T requestObject, PatchProperty property) {
+
+        try {
+
+            if (null != requestObject)
+                property.accessor().copy(object, requestObject);
+
+        } catch (Exception e) {
+
+            throw new FieldUpdateException(
+                    ErrorMessage.INTERNAL,
+                    Collections.singletonList(new ErrorDetail(property.getName(), e.getMessage())));
+
+        }
+
+    }
+
+    /**
+     * Merges a json object into the map property, following RFC-7386: null removes a key, objects merge into the
+     * maps and beans already held and any other value replaces the entry. Untouched entries are left as they are.
+     * A null map is set to the request without its null members.
+     */
+    static void mergeMap(Object object, PatchProperty property, JsonNode request, PatchContext context) {
+
+        final Map<Object, Object> current = (Map<Object, Object>) property.get(object);
+        if (null == current) {
+            property.set(object, context.getOptions().getMapper().readValue(PatchComposer.withoutNulls(request), property.getJavaType(context.getOptions().getMapper())));
+        } else {
+            final int mark = context.enter(property);
+            mergeMap(current, request, property.getJavaType(context.getOptions().getMapper()), context);
+            context.leave(mark);
+        }
+        context.replaced(property);
+
+    }
+
+    /**
+     * @param object  - map to merge into
+     * @param request - json object to merge
+     * @param type    - declared type of the map, giving the type of its keys and values
+     * @param context
+     * @see #mergeMap(Object, PatchProperty, JsonNode, PatchContext)
+     */
+    static void mergeMap(Map<Object, Object> object, JsonNode request, JavaType type, PatchContext context) {
+
+        if (null == object)
+            throw new ValidationException(
+                    ErrorMessage.VALIDATION,
+                    Collections.singletonList(new ErrorDetail("request", "Map cannot be merged if it's not initialized")));
+
+        final JSONMapper mapper = context.getOptions().getMapper();
+        final JavaType mapType = mapType(type, mapper);
+        final JavaType valueType = mapType.getContentType();
+
+        final Iterator<Map.Entry<String, JsonNode>> fields = request.fields();
+        while (fields.hasNext()) {
+
+            final Map.Entry<String, JsonNode> field = fields.next();
+            final JsonNode value = field.getValue();
+            context.visitField();
+            final Object key = mapKey(field.getKey(), mapType, mapper);
+
+            if (value.isNull()) {
+                object.remove(key);
+                continue;
+            }
+
+            final Object entry = value.isObject() ? object.get(key) : null;
+            if (entry instanceof Map) {
+                final int mark = context.enter(field.getKey());
+                mergeMap((Map<Object, Object>) entry, value, valueType, context);
+                context.leave(mark);
+            } else if (null != entry && PatchPlan.of(entry.getClass()).isDeclaredIn(context.getDeclaringPackageName())) {
+                final int mark = context.enter(field.getKey());
+                mergeBean(entry, value, context);
+                context.leave(mark);
+            } else {
+                object.put(key, mapper.readValue(value.isObject() ? PatchComposer.withoutNulls(value) : value, valueType));
+            }
+
+        }
+
+    }
+
+    /**
+     * Declared type of a map, maps declared as {@code Object} or as a raw type holding untyped keys and values.
+     */
+    static JavaType mapType(JavaType type, JSONMapper mapper) {
+        return type.isMapLikeType() ? type : mapper.constructType(Map.class);
+    }
+
+    /**
+     * Binds a json key to the key type of the map.
+     */
+    static Object mapKey(String name, JavaType mapType, JSONMapper mapper) {
+        final Class<?> keyClass = mapType.getKeyType().getRawClass();
+        return String.class == keyClass || Object.class == keyClass ?
+                name :
+                mapper.readValue(TextNode.valueOf(name), mapType.getKeyType());
+    }
+
+    private static void mergeBean(Object bean, JsonNode request, PatchContext context) {
+        try (JsonParser parser = context.getOptions().getMapper().createParser(request)) {
+            parser.nextToken();
+            TokenProcessor.processObject(parser, bean, context);
+        } catch (IOException e) {
+            throw new FieldUpdateException(
+                    ErrorMessage.INTERNAL,
+                    Collections.singletonList(new ErrorDetail("request", e.getMessage())));
+        }
+    }
+
+    /**
+     * Sets the property to the request value, updating the collection it holds in place when both are of the same class.
+     * Objects sharing that collection see the change.
+     *
+     * @see #replaceCollection(Collection, Collection)
+     */
+    static void updateCollection(Object object, PatchProperty property, Object value) {
+
+        try {
+
+            final Object current = property.get(object);
+            if (current instanceof Collection && null != value && current.getClass() == value.getClass())
+                replaceCollection((Collection<Object>) current, (Collection<Object>) value);
+            else
+                property.set(object, value);
+
+        } catch (UnsupportedOperationException | IllegalArgumentException e) {
+
+            throw new FieldUpdateException(
+                    ErrorMessage.INTERNAL,
+                    Collections.singletonList(new ErrorDetail(property.getName(), e.getMessage())));
+
+        }
+
+    }
+
+    /**
+     * Makes the collection equal to the request, keeping its identity.
+     * Lists only overwrite the positions whose elements differ and trim or append their tail,
+     * hash and sorted sets only remove and add the elements that differ. Other collections, insertion ordered sets
+     * included, are refilled only when their elements or their order differ. Elements equal to the requested ones are kept.
+     */
+    static void replaceCollection(Collection<Object> object, Collection<Object> request) {
+
+        if (null == object)
+            throw new ValidationException(
+                    ErrorMessage.VALIDATION,
+                    Collections.singletonList(new ErrorDetail("request", "Collection cannot be replaced if it's not initialized")));
+
+        if (null == request) {
+            object.clear();
+        } else if (object instanceof List && request instanceof List) {
+            replaceList((List<Object>) object, (List<Object>) request);
+        } else if (object instanceof Set && !insertionOrdered((Set<Object>) object)) {
+            object.retainAll(request instanceof Set ? request : new HashSet<>(request));
+            object.addAll(request);
+        } else if (!sameOrder(object, request)) {
+            object.clear();
+            object.addAll(request);
+        }
+
+    }
+
+    /**
+     * Sets whose iteration order may follow insertion, such as {@link LinkedHashSet}. Hash and sorted sets iterate in an
+     * order of their own, kept by any sequence of removals and additions.
+     */
+    private static boolean insertionOrdered(Set<Object> set) {
+        return set instanceof LinkedHashSet || !(set instanceof HashSet || set instanceof SortedSet);
+    }
+
+    private static boolean sameOrder(Collection<Object> object, Collection<Object> request) {
+        if (object.size() != request.size())
+            return false;
+        final Iterator<Object> requested = request.iterator();
+        for (Object element : object)
+            if (!Objects.equals(element, requested.next()))
+                return false;
+        return true;
+    }
+
+    private static void replaceList(List<Object> object, List<Object> request) {
+
+        final int common = Math.min(object.size(), request.size());
+        if (object instanceof ArrayList)
+            ((ArrayList<Object>) object).ensureCapacity(request.size());
+
+        final ListIterator<Object> current = object.listIterator();
+        final Iterator<Object> requested = request.iterator();
+        for (int i = 0; i < common; i++) {
+            final Object value = requested.next();
+            if (!Objects.equals(current.next(), value))
+                current.set(value);
+        }
+
+        if (object.size() > common)
+            object.subList(common, object.size()).clear();
+        else if (request.size() > common)
+            object.addAll(request.subList(common, request.size()));
+
+    }
+
+}
\ No newline at end of file
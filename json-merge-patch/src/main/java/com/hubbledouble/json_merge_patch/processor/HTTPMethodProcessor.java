@@ -0,0 +1,624 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.processor;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.hubbledouble.json_merge_patch.constant.ErrorMessage;
+import com.hubbledouble.json_merge_patch.constant.PatchMode;
+import com.hubbledouble.json_merge_patch.exception.ErrorDetail;
+import com.hubbledouble.json_merge_patch.exception.JsonMapperException;
+import com.hubbledouble.json_merge_patch.exception.JsonMergePatchException;
+import com.hubbledouble.json_merge_patch.validator.RequestValidator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static com.hubbledouble.json_merge_patch.utils.ReflectionUtils.getDeclaringPackageName;
+
+/**
+ * Implementation for Json Merge Patch based on RFC-7386.
+ *
+ * @author Jorge Saldivar
+ * @see <a href="https://tools.ietf.org/html/rfc7386">RFC-7386</a>
+ */
+public class HTTPMethodProcessor {
+
+    private HTTPMethodProcessor() {
+    }
+
+    /**
+     * Method to patch an object based on a JSON partial request.
+     * For more information visit the specs documentation <a href="https://tools.ietf.org/html/rfc7386">RFC-7386</a>
+     *
+     * <pre>
+     * Skeleton example:
+     * <code>
+     *
+     *     public T patch(String json, String pathParamId){
+     *          T object = repository.findById(pathParamId);
+     *          HTTPMethodProcessor.patch(json, object);
+     *          repository.save(object);
+     *     }
+     *
+     * </code>
+     * </pre>
+     *
+     * @param request - partial json request
+     * @param object  - object where the partial json request will merge
+     * @param <T>
+     * @throws JsonMergePatchException
+     */
+    public static <T> void patch(String request, T object) {
+        patch(request, object, PatchOptions.defaults());
+    }
+
+    /**
+     * Same as {@link #patch(String, Object)}, applying the request as configured by the options.
+     *
+     * @param request - partial json request
+     * @param object  - object where the partial json request will merge
+     * @param options - patch options, see {@link PatchOptions}
+     * @param <T>
+     * @throws JsonMergePatchException
+     */
+    public static <T> void patch(String request, T object, PatchOptions options) {
+        final PatchCache cache = options.getCache();
+        if (null == cache)
+            patch(() -> options.getMapper().createParser(request), PatchRecorder.requestSize(options, request), object, options);
+        else
+            patchTree(() -> cache.get(request, object.getClass(), options.getMapper()), PatchRecorder.requestSize(options, request), object, options);
+    }
+
+    /**
+     * Same as {@link #patch(String, Object)}, reading the request straight from its encoded bytes.
+     * Gzip and deflate encoded requests are decompressed transparently.
+     *
+     * @param request - partial json request
+     * @param object  - object where the partial json request will merge
+     * @param <T>
+     * @throws JsonMergePatchException
+     */
+    public static <T> void patch(byte[] request, T object) {
+        patch(request, 0, null != request ? request.length : 0, object, PatchOptions.defaults());
+    }
+
+    /**
+     * Same as {@link #patch(byte[], Object)}, reading {@code length} bytes starting at {@code offset}.
+     *
+     * @param request - buffer holding the partial json request
+     * @param offset  - first byte of the request
+     * @param length  - number of bytes of the request
+     * @param object  - object where the partial json request will merge
+     * @param options - patch options, see {@link PatchOptions}
+     * @param <T>
+     * @throws JsonMergePatchException
+     */
+    public static <T> void patch(byte[] request, int offset, int length, T object, PatchOptions options) {
+        final PatchCache cache = options.getCache();
+        if (null == cache)
+            patch(() -> options.getMapper().createParser(request, offset, length), length, object, options);
+        else
+            patchTree(() -> cache.get(request, offset, length, object.getClass(), options.getMapper()), length, object, options);
+    }
+
+    /**
+     * Same as {@link #patch(byte[], Object)}, reading the remaining bytes of the buffer.
+     * The buffer position is left untouched.
+     *
+     * @param request - partial json request
+     * @param object  - object where the partial json request will merge
+     * @param <T>
+     * @throws JsonMergePatchException
+     */
+    public static <T> void patch(ByteBuffer request, T object) {
+        patch(request, object, PatchOptions.defaults());
+    }
+
+    /**
+     * @see #patch(ByteBuffer, Object)
+     */
+    public static <T> void patch(ByteBuffer request, T object, PatchOptions options) {
+        patch(() -> options.getMapper().createParser(request), null != request ? request.remaining() : -1, object, options);
+    }
+
+    /**
+     * Same as {@link #patch(byte[], Object)}, reading the request from the stream as it is parsed.
+     * The stream is not closed.
+     *
+     * @param request - partial json request
+     * @param object  - object where the partial json request will merge
+     * @param <T>
+     * @throws JsonMergePatchException
+     */
+    public static <T> void patch(InputStream request, T object) {
+        patch(request, object, PatchOptions.defaults());
+    }
+
+    /**
+     * @see #patch(InputStream, Object)
+     */
+    public static <T> void patch(InputStream request, T object, PatchOptions options) {
+        patch(() -> options.getMapper().createParser(request), -1, object, options);
+    }
+
+    /**
+     * Same as {@link #patch(String, Object)}, reading the request from the reader as it is parsed.
+     * The reader is not closed.
+     *
+     * @param request - partial json request
+     * @param object  - object where the partial json request will merge
+     * @param <T>
+     * @throws JsonMergePatchException
+     */
+    public static <T> void patch(Reader request, T object) {
+        patch(request, object, PatchOptions.defaults());
+    }
+
+    /**
+     * @see #patch(Reader, Object)
+     */
+    public static <T> void patch(Reader request, T object, PatchOptions options) {
+        patch(() -> options.getMapper().createParser(request), -1, object, options);
+    }
+
+    /**
+     * @param size - length of the request, -1 when unknown
+     */
+    private static <T> void patch(Supplier<JsonParser> request, long size, T object, PatchOptions options) {
+
+        final PatchRecorder recorder = PatchRecorder.start(options, object, size);
+        try {
+
+            RequestValidator.initialValidation(object);
+            final PatchContext context;
+            try (JsonParser parser = request.get()) {
+                context = apply(parser, object, options, recorder);
+            }
+
+            recorder.validating(context);
+            finalValidation(object, context, options);
+            recorder.succeeded();
+
+        } catch (JsonMergePatchException e) {
+            recorder.failed(e);
+            throw e;
+
+        } catch (Exception e) {
+            recorder.failed(e);
+            throw new JsonMergePatchException(
+                    ErrorMessage.INTERNAL,
+                    Collections.singletonList(new ErrorDetail("unknown", e.getMessage())));
+        }
+    }
+
+    /**
+     * Same as {@link #patch(String, Object)}, for a request already parsed, e.g. composed by {@link PatchComposer}.
+     * The request is not modified.
+     *
+     * @param request - partial json request
+     * @param object  - object where the partial json request will merge
+     * @param <T>
+     * @throws JsonMergePatchException
+     */
+    public static <T> void patch(JsonNode request, T object) {
+        patch(request, object, PatchOptions.defaults());
+    }
+
+    /**
+     * @see #patch(JsonNode, Object)
+     */
+    public static <T> void patch(JsonNode request, T object, PatchOptions options) {
+        patchTree(() -> request, -1, object, options);
+    }
+
+    /**
+     * Bulk patch of a json object keyed by entity id, where every value is the partial request of that entity.
+     * Each entity is found through the lookup and patched, then validated, as soon as its request is read,
+     * so only one entity request is held in memory at a time.
+     *
+     * <pre>
+     * Skeleton example:
+     * <code>
+     *
+     *     // { "id1" : { "name" : "one" }, "id2" : { "name" : "two" } }
+     *     HTTPMethodProcessor.patchAll(inputStream, repository::findById);
+     *
+     * </code>
+     * </pre>
+     * <p>
+     * Ids the lookup returns null for are skipped. A failing entity stops the bulk patch, leaving the entities
+     * before it patched; it is the last id handed to the lookup.
+     *
+     * @param request - json object keyed by entity id, values being partial json requests
+     * @param lookup  - finds the object to patch for an id
+     * @param <T>
+     * @return number of entities patched
+     * @throws JsonMergePatchException
+     */
+    public static <T> int patchAll(InputStream request, Function<String, T> lookup) {
+        return patchAll(request, lookup, PatchOptions.defaults());
+    }
+
+    /**
+     * @see #patchAll(InputStream, Function)
+     */
+    public static <T> int patchAll(InputStream request, Function<String, T> lookup, PatchOptions options) {
+        return patchAll(() -> options.getMapper().createParser(request), lookup, options);
+    }
+
+    /**
+     * @see #patchAll(InputStream, Function)
+     */
+    public static <T> int patchAll(String request, Function<String, T> lookup) {
+        return patchAll(request, lookup, PatchOptions.defaults());
+    }
+
+    /**
+     * @see #patchAll(InputStream, Function)
+     */
+    public static <T> int patchAll(String request, Function<String, T> lookup, PatchOptions options) {
+        return patchAll(() -> options.getMapper().createParser(request), lookup, options);
+    }
+
+    private static <T> int patchAll(Supplier<JsonParser> request, Function<String, T> lookup, PatchOptions options) {
+
+        PatchRecorder recorder = PatchRecorder.none();
+        try (JsonParser parser = request.get()) {
+
+            if (JsonToken.START_OBJECT != parser.nextToken())
+                throw new JsonMapperException(
+                        ErrorMessage.MAPPER,
+                        Collections.singletonList(new ErrorDetail("request", "Request must be a json object keyed by id")));
+
+            int patched = 0;
+            while (JsonToken.FIELD_NAME == parser.nextToken()) {
+
+                final T object = lookup.apply(parser.getCurrentName());
+                parser.nextToken();
+                if (null == object) {
+                    parser.skipChildren();
+                    continue;
+                }
+
+                recorder = PatchRecorder.start(options, object, -1);
+                final PatchContext context = apply(parser, object, options, recorder);
+                recorder.validating(context);
+                finalValidation(object, context, options);
+                recorder.succeeded();
+                patched++;
+
+            }
+            return patched;
+
+        } catch (JsonMergePatchException e) {
+            recorder.failed(e);
+            throw e;
+
+        } catch (Exception e) {
+            recorder.failed(e);
+            throw new JsonMergePatchException(
+                    ErrorMessage.INTERNAL,
+                    Collections.singletonList(new ErrorDetail("unknown", e.getMessage())));
+        }
+    }
+
+    /**
+     * Applies the same partial request to every object of the collection, in parallel on the common fork join pool.
+     * The request is parsed once; each object is patched and validated on its own.
+     * <p>
+     * A failing object does not stop the others. Its failure is returned, while the remaining objects are patched.
+     *
+     * <pre>
+     * Skeleton example:
+     * <code>
+     *
+     *     List&lt;PatchFailure&lt;T&gt;&gt; failures = HTTPMethodProcessor.patchEach(json, objects);
+     *     failures.forEach(failure -&gt; log.warn("{} not patched", failure.getObject(), failure.getException()));
+     *
+     * </code>
+     * </pre>
+     *
+     * @param request - partial json request
+     * @param objects - objects where the partial json request will merge, must not be modified while patching
+     * @param <T>
+     * @return failed objects, ordered by their position in the collection
+     * @throws JsonMergePatchException when the request itself is invalid
+     */
+    public static <T> List<PatchFailure<T>> patchEach(String request, Collection<T> objects) {
+        return patchEach(request, objects, ForkJoinPool.commonPool(), PatchOptions.defaults());
+    }
+
+    /**
+     * Same as {@link #patchEach(String, Collection)}, running on the given executor.
+     *
+     * @param request  - partial json request
+     * @param objects  - objects where the partial json request will merge
+     * @param executor - executor the chunks of the collection are patched on
+     * @param options  - patch options, see {@link PatchOptions}
+     * @param <T>
+     * @return failed objects, ordered by their position in the collection
+     * @throws JsonMergePatchException when the request itself is invalid
+     */
+    public static <T> List<PatchFailure<T>> patchEach(String request, Collection<T> objects, Executor executor, PatchOptions options) {
+
+        final JsonNode tree = readTree(request, options);
+        return FanOutProcessor.patch(objects, executor, object -> {
+            final PatchRecorder recorder = PatchRecorder.start(options, object, -1);
+            try {
+                RequestValidator.initialValidation(object);
+                final PatchContext context = applyTree(tree, object, options, recorder);
+                recorder.validating(context);
+                finalValidation(object, context, options);
+                recorder.succeeded();
+            } catch (RuntimeException e) {
+                recorder.failed(e);
+                throw e;
+            }
+        });
+    }
+
+    /**
+     * Copy-on-write counterpart of {@link #patch(String, Object)}: the object is left untouched and its patched state
+     * is returned. Only the objects and maps on the paths the request changes are copied, every other value is shared
+     * between both states, so the cost depends on the request and not on the size of the object.
+     * A failing request, validation included, leaves nothing half applied.
+     * <p>
+     * Copied classes need a no argument constructor. Collections the request sets are bound anew, never updated in place.
+     * The request is always read as a tree, whatever the mode of the options.
+     *
+     * <pre>
+     * Skeleton example:
+     * <code>
+     *
+     *     T patched = HTTPMethodProcessor.patchCopy(json, cache.get(id));
+     *     cache.put(id, patched);
+     *
+     * </code>
+     * </pre>
+     *
+     * @param request - partial json request
+     * @param object  - object the patched state is derived from, not modified
+     * @param <T>
+     * @return patched state of the object
+     * @throws JsonMergePatchException
+     */
+    public static <T> T patchCopy(String request, T object) {
+        return patchCopy(request, object, PatchOptions.defaults());
+    }
+
+    /**
+     * @see #patchCopy(String, Object)
+     */
+    public static <T> T patchCopy(String request, T object, PatchOptions options) {
+        final PatchCache cache = options.getCache();
+        return patchCopy(
+                () -> null != cache ? cache.get(request, object.getClass(), options.getMapper()) : readTree(request, options),
+                PatchRecorder.requestSize(options, request),
+                object,
+                options);
+    }
+
+    /**
+     * @see #patchCopy(String, Object)
+     */
+    public static <T> T patchCopy(JsonNode request, T object, PatchOptions options) {
+        return patchCopy(() -> request, -1, object, options);
+    }
+
+    /**
+     * Patches the object held by the reference copy-on-write and publishes the patched state with a compare and set,
+     * retrying on the latest state when another thread published in between.
+     * Readers of the reference never block and never see a half applied patch.
+     *
+     * <pre>
+     * Skeleton example:
+     * <code>
+     *
+     *     AtomicReference&lt;T&gt; current = cache.get(id);
+     *     HTTPMethodProcessor.patchAtomically(json, current);
+     *
+     * </code>
+     * </pre>
+     *
+     * @param request   - partial json request, parsed once whatever the number of retries
+     * @param reference - holder of the object to patch
+     * @param <T>
+     * @return published patched state
+     * @throws JsonMergePatchException leaving the reference untouched
+     * @see #patchCopy(String, Object)
+     */
+    public static <T> T patchAtomically(String request, AtomicReference<T> reference) {
+        return patchAtomically(request, reference, PatchOptions.defaults());
+    }
+
+    /**
+     * @see #patchAtomically(String, AtomicReference)
+     */
+    public static <T> T patchAtomically(String request, AtomicReference<T> reference, PatchOptions options) {
+
+        final JsonNode tree = readTree(request, options);
+        while (true) {
+            final T current = reference.get();
+            final T patched = patchCopy(() -> tree, -1, current, options);
+            if (reference.compareAndSet(current, patched))
+                return patched;
+        }
+
+    }
+
+    private static <T> T patchCopy(Supplier<JsonNode> request, long size, T object, PatchOptions options) {
+
+        final PatchRecorder recorder = PatchRecorder.start(options, object, size);
+        try {
+
+            RequestValidator.initialValidation(object);
+            final JsonNode tree = request.get();
+            final PatchContext context = context(object, options, recorder);
+            recorder.applying();
+            final T patched = CopyOnWriteProcessor.patch(tree, object, context);
+            final PatchContext tracked = object instanceof Map || object instanceof Collection ? null : context;
+            recorder.validating(tracked);
+            finalValidation(patched, tracked, options);
+            recorder.succeeded();
+            return patched;
+
+        } catch (JsonMergePatchException e) {
+            recorder.failed(e);
+            throw e;
+
+        } catch (Exception e) {
+            recorder.failed(e);
+            throw new JsonMergePatchException(
+                    ErrorMessage.INTERNAL,
+                    Collections.singletonList(new ErrorDetail("unknown", e.getMessage())));
+        }
+    }
+
+    static JsonNode readTree(String request, PatchOptions options) {
+        try (JsonParser parser = options.getMapper().createParser(request)) {
+            return options.getMapper().readTree(parser);
+        } catch (IOException e) {
+            throw new JsonMergePatchException(
+                    ErrorMessage.INTERNAL,
+                    Collections.singletonList(new ErrorDetail("unknown", e.getMessage())));
+        }
+    }
+
+    /**
+     * Same as {@link #patch(Supplier, long, Object, PatchOptions)}, for a request already parsed.
+     */
+    private static <T> void patchTree(Supplier<JsonNode> request, long size, T object, PatchOptions options) {
+
+        final PatchRecorder recorder = PatchRecorder.start(options, object, size);
+        try {
+
+            RequestValidator.initialValidation(object);
+            final JsonNode tree = request.get();
+            final PatchContext context = applyTree(tree, object, options, recorder);
+            recorder.validating(context);
+            finalValidation(object, context, options);
+            recorder.succeeded();
+
+        } catch (JsonMergePatchException e) {
+            recorder.failed(e);
+            throw e;
+
+        } catch (Exception e) {
+            recorder.failed(e);
+            throw new JsonMergePatchException(
+                    ErrorMessage.INTERNAL,
+                    Collections.singletonList(new ErrorDetail("unknown", e.getMessage())));
+        }
+    }
+
+    private static <T> PatchContext applyTree(JsonNode tree, T object, PatchOptions options, PatchRecorder recorder) {
+        final PatchContext context = context(object, options, recorder);
+        recorder.applying();
+        return PatchMode.STREAMING == options.getMode() ?
+                TokenProcessor.patch(options.getMapper().createParser(tree), object, context) :
+                processMapCollectionOrObject(tree, object, context);
+    }
+
+    /**
+     * Applies the value at the parser's current token, or at the first one when the parser has not been advanced yet.
+     */
+    private static <T> PatchContext apply(JsonParser parser, T object, PatchOptions options, PatchRecorder recorder) {
+        final PatchContext context = context(object, options, recorder);
+        if (PatchMode.STREAMING == options.getMode()) {
+            recorder.applying();
+            return TokenProcessor.patch(parser, object, context);
+        }
+        final JsonNode tree = options.getMapper().readTree(parser);
+        recorder.applying();
+        return processMapCollectionOrObject(tree, object, context);
+    }
+
+    /**
+     * State of a patch of the object, counted by the recorder before the apply step so a failing one still reports it.
+     */
+    private static PatchContext context(Object object, PatchOptions options, PatchRecorder recorder) {
+        final PatchContext context = new PatchContext(getDeclaringPackageName(object), options);
+        recorder.counting(context);
+        return context;
+    }
+
+    /**
+     * Validates the paths the patch changed when it tracked them, the whole object otherwise.
+     */
+    private static <T> void finalValidation(T object, PatchContext context, PatchOptions options) {
+        RequestValidator.finalValidation(object, null != context ? context.getPatchedPaths() : null, options.getValidator());
+    }
+
+    /**
+     * @return the context, null for map and collection roots
+     */
+    private static <T> PatchContext processMapCollectionOrObject(JsonNode tree, T object, PatchContext context) {
+
+        final PatchOptions options = context.getOptions();
+
+        if (object instanceof Map) {
+            if (!tree.isObject())
+                throw new JsonMapperException(
+                        ErrorMessage.MAPPER,
+                        Collections.singletonList(new ErrorDetail("request", "Request must be a json object")));
+            FieldProcessor.mergeMap(
+                    (Map) object,
+                    tree,
+                    options.getMapper().constructType(object.getClass()),
+                    context);
+            return null;
+        }
+
+        final T request = (T) options.getMapper().readValue(tree, object.getClass());
+
+        if (object instanceof Collection) {
+            FieldProcessor.replaceCollection((Collection) object, (Collection) request);
+            return null;
+        }
+
+        NodeProcessor.iterateJsonTree(object, request, tree.fields(), context);
+        return context;
+
+    }
+
+}
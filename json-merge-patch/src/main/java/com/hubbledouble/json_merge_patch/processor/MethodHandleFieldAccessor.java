@@ -0,0 +1,205 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.processor;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+/**
+ * {@link FieldAccessor} backed by method handles resolved once from the field, made accessible beforehand.
+ * Handles are adapted to exact signatures, so primitive fields are read and written unboxed.
+ *
+ * @author Jorge Saldivar
+ */
+final class MethodHandleFieldAccessor extends FieldAccessor {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+    private final MethodHandle copier;
+    private final MethodHandle primitiveSetter;
+
+    MethodHandleFieldAccessor(Field field) {
+
+        field.setAccessible(true);
+        final Class<?> type = field.getType();
+        final MethodHandle rawGetter = unreflectGetter(field);
+        final MethodHandle rawSetter = unreflectSetter(field);
+
+        this.getter = rawGetter.asType(MethodType.methodType(Object.class, Object.class));
+        this.setter = rawSetter.asType(MethodType.methodType(void.class, Object.class, Object.class));
+        this.copier = MethodHandles.filterArguments(rawSetter, 1, rawGetter)
+                .asType(MethodType.methodType(void.class, Object.class, Object.class));
+        this.primitiveSetter = type.isPrimitive() ?
+                rawSetter.asType(MethodType.methodType(void.class, Object.class, type)) :
+                null;
+
+    }
+
+    @Override
+    Object get(Object bean) {
+        try {
+            return getter.invokeExact(bean);
+        } catch (Throwable e) {
+            throw failure(e);
+        }
+    }
+
+    @Override
+    void set(Object bean, Object value) {
+        try {
+            setter.invokeExact(bean, value);
+        } catch (Throwable e) {
+            throw failure(e);
+        }
+    }
+
+    @Override
+    void copy(Object target, Object source) {
+        try {
+            copier.invokeExact(target, source);
+        } catch (Throwable e) {
+            throw failure(e);
+        }
+    }
+
+    @Override
+    void setInt(Object bean, int value) {
+        if (!isPrimitive(int.class)) {
+            super.setInt(bean, value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(bean, value);
+        } catch (Throwable e) {
+            throw failure(e);
+        }
+    }
+
+    @Override
+    void setLong(Object bean, long value) {
+        if (!isPrimitive(long.class)) {
+            super.setLong(bean, value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(bean, value);
+        } catch (Throwable e) {
+            throw failure(e);
+        }
+    }
+
+    @Override
+    void setFloat(Object bean, float value) {
+        if (!isPrimitive(float.class)) {
+            super.setFloat(bean, value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(bean, value);
+        } catch (Throwable e) {
+            throw failure(e);
+        }
+    }
+
+    @Override
+    void setDouble(Object bean, double value) {
+        if (!isPrimitive(double.class)) {
+            super.setDouble(bean, value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(bean, value);
+        } catch (Throwable e) {
+            throw failure(e);
+        }
+    }
+
+    @Override
+    void setBoolean(Object bean, boolean value) {
+        if (!isPrimitive(boolean.class)) {
+            super.setBoolean(bean, value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(bean, value);
+        } catch (Throwable e) {
+            throw failure(e);
+        }
+    }
+
+    private boolean isPrimitive(Class<?> type) {
+        return null != primitiveSetter && primitiveSetter.type().parameterType(1) == type;
+    }
+
+    private static MethodHandle unreflectGetter(Field field) {
+        try {
+            return LOOKUP.unreflectGetter(field);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Final fields cannot be unreflected as setters on every JDK, those are written through the field itself.
+     *
+     * @param field
+     * @return
+     */
+    private static MethodHandle unreflectSetter(Field field) {
+        try {
+            return LOOKUP.unreflectSetter(field);
+        } catch (IllegalAccessException e) {
+            try {
+                return LOOKUP.findVirtual(Field.class, "set", MethodType.methodType(void.class, Object.class, Object.class))
+                        .bindTo(field)
+                        .asType(MethodType.methodType(void.class, field.getDeclaringClass(), field.getType()));
+            } catch (ReflectiveOperationException fallback) {
+                throw new IllegalArgumentException(fallback.getMessage(), fallback);
+            }
+        }
+    }
+
+    private static RuntimeException failure(Throwable e) {
+        if (e instanceof IllegalArgumentException)
+            return (IllegalArgumentException) e;
+        if (e instanceof ClassCastException || e instanceof NullPointerException)
+            return new IllegalArgumentException(e.getMessage(), e);
+        if (e instanceof RuntimeException)
+            return (RuntimeException) e;
+        if (e instanceof Error)
+            throw (Error) e;
+        return new IllegalArgumentException(e.getMessage(), e);
+    }
+
+}
@@ -0,0 +1,133 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.processor;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeType;
+import com.hubbledouble.json_merge_patch.constant.ErrorMessage;
+import com.hubbledouble.json_merge_patch.exception.ErrorDetail;
+import com.hubbledouble.json_merge_patch.exception.FieldProcessorException;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Processor for node traversal.
+ * Follows the keys of the request only, descending into the object as the request does,
+ * so the cost depends on the size of the request and not on the size of the object.
+ *
+ * @author Jorge Saldivar
+ */
+class NodeProcessor {
+
+    private NodeProcessor() {
+    }
+
+    static <T> void iterateJsonTree(T object,
+                                    T request,
+                                    Iterator<Map.Entry<String, JsonNode>> requestFields,
+                                    PatchContext context) {
+
+        final PatchPlan plan = PatchPlan.of(object.getClass());
+        if (!plan.isDeclaredIn(context.getDeclaringPackageName()))
+            return;
+
+        while (requestFields.hasNext()) {
+
+            Map.Entry<String, JsonNode> entry = requestFields.next();
+            context.visitField();
+            final PatchProperty property = context.property(plan, entry.getKey());
+            if (null != property)
+                iterateJsonNode(object, request, property, entry.getValue(), context);
+
+        }
+
+    }
+
+    private static <T> void iterateJsonNode(T object,
+                                            T request,
+                                            PatchProperty property,
+                                            JsonNode requestField,
+                                            PatchContext context) {
+
+        if (JsonNodeType.ARRAY.equals(requestField.getNodeType()) && null != request) {
+            FieldProcessor.updateCollection(object, property, property.get(request));
+            context.replaced(property);
+        }
+
+        else if (requestField.isValueNode() || JsonNodeType.ARRAY.equals(requestField.getNodeType())) {
+            FieldProcessor.updateValue(object, request, property);
+            context.replaced(property);
+        }
+
+        else if (JsonNodeType.OBJECT.equals(requestField.getNodeType()))
+            iterateObjectNode(object, request, property, requestField, context);
+
+    }
+
+    /**
+     * A json object is merged into maps and objects, and replaces a field that is null.
+     */
+    private static <T> void iterateObjectNode(T object,
+                                              T request,
+                                              PatchProperty property,
+                                              JsonNode requestField,
+                                              PatchContext context) {
+
+        try {
+
+            final Object value = property.get(object);
+            if (value instanceof Map || (null == value && Map.class.isAssignableFrom(property.getType()))) {
+                FieldProcessor.mergeMap(object, property, requestField, context);
+            } else if (null == value) {
+                FieldProcessor.updateValue(object, request, property);
+                context.replaced(property);
+            } else {
+                final int mark = context.enter(property);
+                iterateJsonTree(
+                        value,
+                        null != request ? property.get(request) : null,
+                        requestField.fields(),
+                        context);
+                context.leave(mark);
+            }
+
+        } catch (IllegalArgumentException e) {
+
+            throw new FieldProcessorException(
+                    ErrorMessage.INTERNAL,
+                    Collections.singletonList(new ErrorDetail(property.getName(), e.getMessage())));
+
+        }
+
+    }
+
+}
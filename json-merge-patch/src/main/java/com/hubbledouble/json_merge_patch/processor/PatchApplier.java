@@ -0,0 +1,109 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.processor;
+
+/**
+ * Field access for a single bean class without reflection.
+ * Implementations are generated for {@link com.hubbledouble.json_merge_patch.annotation.Patchable} beans
+ * and named after the bean with an {@value #SUFFIX} suffix, in the same package.
+ * <p>
+ * Fields are read and written directly, never through their getters and setters.
+ * Fields the applier does not support are accessed through reflection.
+ *
+ * @param <T> bean type
+ * @author Jorge Saldivar
+ */
+public interface PatchApplier<T> {
+
+    String SUFFIX = "_PatchApplier";
+
+    /**
+     * @param field field name as declared in the bean
+     * @return whether the field can be read and written by this applier
+     */
+    boolean supports(String field);
+
+    /**
+     * @throws IllegalArgumentException if the field is not supported
+     */
+    Object get(T bean, String field);
+
+    /**
+     * @throws IllegalArgumentException if the field is not supported
+     */
+    void set(T bean, String field, Object value);
+
+    /**
+     * Sets an int field without boxing the value.
+     *
+     * @throws IllegalArgumentException if the field is not supported
+     */
+    default void setInt(T bean, String field, int value) {
+        set(bean, field, value);
+    }
+
+    /**
+     * @see #setInt(Object, String, int)
+     */
+    default void setLong(T bean, String field, long value) {
+        set(bean, field, value);
+    }
+
+    /**
+     * @see #setInt(Object, String, int)
+     */
+    default void setFloat(T bean, String field, float value) {
+        set(bean, field, value);
+    }
+
+    /**
+     * @see #setInt(Object, String, int)
+     */
+    default void setDouble(T bean, String field, double value) {
+        set(bean, field, value);
+    }
+
+    /**
+     * @see #setInt(Object, String, int)
+     */
+    default void setBoolean(T bean, String field, boolean value) {
+        set(bean, field, value);
+    }
+
+    /**
+     * Copies the field value from one bean to another, primitives included without boxing.
+     *
+     * @throws IllegalArgumentException if the field is not supported
+     */
+    default void copy(T target, T source, String field) {
+        set(target, field, get(source, field));
+    }
+
+}
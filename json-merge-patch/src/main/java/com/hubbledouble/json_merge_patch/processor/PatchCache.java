@@ -0,0 +1,222 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.processor;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.hubbledouble.json_merge_patch.mapper.JSONMapper;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, least recently used cache of parsed requests, keyed by the request content, the patched class and the mapper parsing it.
+ * Identical requests found in the cache skip parsing.
+ * <p>
+ * Shared through {@link PatchOptions#withCache(PatchCache)}, it is safe to use from several threads. Large caches are
+ * split in segments locked on their own, each evicting its own least recently used entries.
+ *
+ * <pre>
+ * <code>
+ *     PatchOptions options = PatchOptions.defaults().withCache(new PatchCache(1024));
+ *     HTTPMethodProcessor.patch(json, object, options);
+ * </code>
+ * </pre>
+ *
+ * @author Jorge Saldivar
+ */
+public final class PatchCache {
+
+    /**
+     * Smallest number of entries per segment, caches below twice that size are kept in one segment.
+     */
+    private static final int MIN_SEGMENT_CAPACITY = 64;
+    private static final int MAX_SEGMENTS = 16;
+
+    private final Map<Key, JsonNode>[] segments;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @param capacity - maximum number of cached requests
+     */
+    public PatchCache(int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("Capacity must be positive");
+        int count = 1;
+        while (count < MAX_SEGMENTS && count * 2 * MIN_SEGMENT_CAPACITY <= capacity)
+            count <<= 1;
+        this.segments = new Map[count];
+        for (int i = 0; i < count; i++)
+            segments[i] = segment(capacity / count + (i < capacity % count ? 1 : 0));
+    }
+
+    private static Map<Key, JsonNode> segment(int capacity) {
+        return new LinkedHashMap<Key, JsonNode>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, JsonNode> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public int size() {
+        int size = 0;
+        for (Map<Key, JsonNode> segment : segments)
+            synchronized (segment) {
+                size += segment.size();
+            }
+        return size;
+    }
+
+    public void clear() {
+        for (Map<Key, JsonNode> segment : segments)
+            synchronized (segment) {
+                segment.clear();
+            }
+    }
+
+    JsonNode get(String request, Class<?> type, JSONMapper mapper) {
+        final Key key = new Key(request, 0, request.length(), request.hashCode(), type, mapper);
+        return get(key, () -> key, () -> mapper.createParser(request));
+    }
+
+    /**
+     * The range is looked up in place, it is only copied when a missed request is cached.
+     */
+    JsonNode get(byte[] request, int offset, int length, Class<?> type, JSONMapper mapper) {
+        final int hash = hash(request, offset, length);
+        return get(
+                new Key(request, offset, length, hash, type, mapper),
+                () -> new Key(Arrays.copyOfRange(request, offset, offset + length), 0, length, hash, type, mapper),
+                () -> mapper.createParser(request, offset, length));
+    }
+
+    /**
+     * Parses outside of the lock, two threads missing the same request at once may both parse it.
+     *
+     * @param lookup - key the cache is searched with
+     * @param stored - key a missed request is cached under, owning its content
+     */
+    private JsonNode get(Key lookup, Supplier<Key> stored, Supplier<JsonParser> parser) {
+
+        final Map<Key, JsonNode> segment = segments[(lookup.hash ^ (lookup.hash >>> 16)) & (segments.length - 1)];
+        JsonNode tree;
+        synchronized (segment) {
+            tree = segment.get(lookup);
+        }
+        if (null != tree) {
+            hits.incrementAndGet();
+            return tree;
+        }
+
+        misses.incrementAndGet();
+        try (JsonParser request = parser.get()) {
+            tree = lookup.mapper.readTree(request);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        final Key key = stored.get();
+        synchronized (segment) {
+            segment.put(key, tree);
+        }
+        return tree;
+
+    }
+
+    /**
+     * Same as {@link Arrays#hashCode(byte[])} over the range.
+     */
+    private static int hash(byte[] bytes, int offset, int length) {
+        int hash = 1;
+        for (int i = offset, end = offset + length; i < end; i++)
+            hash = 31 * hash + bytes[i];
+        return hash;
+    }
+
+    private static final class Key {
+
+        private final Object content;
+        private final int offset;
+        private final int length;
+        private final int hash;
+        private final Class<?> type;
+        private final JSONMapper mapper;
+
+        Key(Object content, int offset, int length, int contentHash, Class<?> type, JSONMapper mapper) {
+            this.content = content;
+            this.offset = offset;
+            this.length = length;
+            this.hash = 31 * contentHash + type.hashCode();
+            this.type = type;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            final Key key = (Key) o;
+            return hash == key.hash
+                    && length == key.length
+                    && type == key.type
+                    && mapper == key.mapper
+                    && (content instanceof byte[] && key.content instanceof byte[] ?
+                    rangeEquals((byte[]) content, offset, (byte[]) key.content, key.offset, length) :
+                    content.equals(key.content));
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        private static boolean rangeEquals(byte[] first, int firstOffset, byte[] second, int secondOffset, int length) {
+            for (int i = 0; i < length; i++)
+                if (first[firstOffset + i] != second[secondOffset + i])
+                    return false;
+            return true;
+        }
+
+    }
+
+}
@@ -0,0 +1,147 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.processor;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.hubbledouble.json_merge_patch.constant.ErrorMessage;
+import com.hubbledouble.json_merge_patch.exception.ErrorDetail;
+import com.hubbledouble.json_merge_patch.exception.JsonMergePatchException;
+import com.hubbledouble.json_merge_patch.mapper.JSONMapper;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Folds a sequence of merge patches into a single patch, so an object queued with several patches
+ * is traversed and validated once.
+ * Patches are composed as json, without binding them to any class.
+ *
+ * <pre>
+ * Skeleton example:
+ * <code>
+ *
+ *     String patch = PatchComposer.compose(first, second, third);
+ *     HTTPMethodProcessor.patch(patch, object);
+ *
+ * </code>
+ * </pre>
+ * <p>
+ * Composition follows the RFC-7386 rules: a later non object value, null included, replaces the earlier one,
+ * and later objects merge into earlier objects. Merge patches cannot express replacing an object by another
+ * object though, so an object following a non object value (e.g. {@code {"a":1}} then {@code {"a":{"b":2}}}) is
+ * composed as that object without its null members, which merges into the patched object instead of replacing it.
+ *
+ * @author Jorge Saldivar
+ * @see <a href="https://tools.ietf.org/html/rfc7386">RFC-7386</a>
+ */
+public final class PatchComposer {
+
+    private PatchComposer() {
+    }
+
+    /**
+     * @param patches - json merge patches, in the order they would be applied
+     * @return single patch equivalent to applying them in order, except where an object follows a non object value,
+     * null included, for the same member: that object merges into the member of the patched object instead of
+     * replacing it. An empty object when no patch is given
+     * @throws JsonMergePatchException
+     */
+    public static String compose(String... patches) {
+        JsonNode composed = JsonNodeFactory.instance.objectNode();
+        for (String patch : patches)
+            try (JsonParser parser = JSONMapper.jsonStringToParser(patch)) {
+                composed = merge(composed, JSONMapper.parserToJsonNode(parser));
+            } catch (IOException e) {
+                throw new JsonMergePatchException(
+                        ErrorMessage.INTERNAL,
+                        Collections.singletonList(new ErrorDetail("unknown", e.getMessage())));
+            }
+        return JSONMapper.jsonNodeToString(composed);
+    }
+
+    /**
+     * Given patches are left untouched.
+     *
+     * @see #compose(String...)
+     */
+    public static JsonNode compose(Iterable<? extends JsonNode> patches) {
+        JsonNode composed = JsonNodeFactory.instance.objectNode();
+        for (JsonNode patch : patches)
+            composed = merge(composed, patch);
+        return composed;
+    }
+
+    /**
+     * Merges the later patch into the composed one, updating it in place when both are objects.
+     * Values taken from the later patch are copied, so later merges never modify it.
+     */
+    private static JsonNode merge(JsonNode composed, JsonNode patch) {
+
+        if (!patch.isObject())
+            return patch.deepCopy();
+
+        if (!composed.isObject())
+            return withoutNulls(patch);
+
+        final ObjectNode object = (ObjectNode) composed;
+        final Iterator<Map.Entry<String, JsonNode>> fields = patch.fields();
+        while (fields.hasNext()) {
+            final Map.Entry<String, JsonNode> field = fields.next();
+            final JsonNode current = object.get(field.getKey());
+            object.set(field.getKey(), null != current && field.getValue().isObject() ?
+                    merge(current, field.getValue()) :
+                    field.getValue().deepCopy());
+        }
+        return object;
+
+    }
+
+    /**
+     * Result of applying the patch to an empty object.
+     */
+    static ObjectNode withoutNulls(JsonNode patch) {
+        final ObjectNode object = JsonNodeFactory.instance.objectNode();
+        final Iterator<Map.Entry<String, JsonNode>> fields = patch.fields();
+        while (fields.hasNext()) {
+            final Map.Entry<String, JsonNode> field = fields.next();
+            if (field.getValue().isObject())
+                object.set(field.getKey(), withoutNulls(field.getValue()));
+            else if (!field.getValue().isNull())
+                object.set(field.getKey(), field.getValue().deepCopy());
+        }
+        return object;
+    }
+
+}
@@ -0,0 +1,166 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.processor;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.hubbledouble.json_merge_patch.constant.ErrorMessage;
+import com.hubbledouble.json_merge_patch.exception.ErrorDetail;
+import com.hubbledouble.json_merge_patch.exception.JsonMapperException;
+import com.hubbledouble.json_merge_patch.validator.PatchedPaths;
+
+import java.util.Collections;
+
+/**
+ * State of a single patch call, shared by the processors while they traverse the object.
+ * Every property lookup and every nesting level of a traversal goes through it.
+ *
+ * @author Jorge Saldivar
+ */
+class PatchContext {
+
+    private final String declaringPackageName;
+    private final PatchOptions options;
+    private final PatchedPaths patchedPaths;
+    private final StringBuilder path;
+    private final boolean failOnUnknownProperties;
+    private int fieldsVisited;
+    private int fieldsWritten;
+    private int depth;
+
+    PatchContext(String declaringPackageName, PatchOptions options) {
+        this.declaringPackageName = declaringPackageName;
+        this.options = options;
+        this.patchedPaths = options.isIncrementalValidation() ? new PatchedPaths() : null;
+        this.path = options.isIncrementalValidation() ? new StringBuilder() : null;
+        this.failOnUnknownProperties = options.getMapper().getObjectMapper().getDeserializationConfig()
+                .isEnabled(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    String getDeclaringPackageName() {
+        return declaringPackageName;
+    }
+
+    PatchOptions getOptions() {
+        return options;
+    }
+
+    /**
+     * Resolves the property a request key targets in the plan, as configured by the options.
+     */
+    PatchProperty property(PatchPlan plan, String key) {
+        return plan.property(key, options.isCaseInsensitive());
+    }
+
+    /**
+     * Whether request keys matching no property fail the patch, as configured on the object mapper of the options.
+     * Otherwise they are skipped, the same way the mapper binds them.
+     */
+    boolean isFailOnUnknownProperties() {
+        return failOnUnknownProperties;
+    }
+
+    /**
+     * Counts a field looked up for a key of the request.
+     *
+     * @throws JsonMapperException when the request has more keys than the options allow
+     */
+    void visitField() {
+        if (++fieldsVisited > options.getMaxFields())
+            throw limitException("Request exceeds " + options.getMaxFields() + " properties");
+    }
+
+    int getFieldsVisited() {
+        return fieldsVisited;
+    }
+
+    int getFieldsWritten() {
+        return fieldsWritten;
+    }
+
+    /**
+     * Paths changed so far, null unless incremental validation is enabled.
+     */
+    PatchedPaths getPatchedPaths() {
+        return patchedPaths;
+    }
+
+    /**
+     * Records the property as set to a new value.
+     */
+    void replaced(PatchProperty property) {
+        replaced(property.getName());
+    }
+
+    void replaced(String name) {
+        fieldsWritten++;
+        if (null != patchedPaths)
+            patchedPaths.replaced(pathTo(name));
+    }
+
+    /**
+     * Records the property as merged into and makes it the current path, until {@link #leave(int)}.
+     *
+     * @return mark to leave the property with
+     * @throws JsonMapperException when the request nests deeper than the options allow
+     */
+    int enter(PatchProperty property) {
+        return enter(property.getName());
+    }
+
+    int enter(String name) {
+        if (++depth > options.getMaxDepth())
+            throw limitException("Request exceeds a depth of " + options.getMaxDepth());
+        if (null == patchedPaths)
+            return 0;
+        final int mark = path.length();
+        patchedPaths.merged(pathTo(name));
+        if (mark > 0)
+            path.append('.');
+        path.append(name);
+        return mark;
+    }
+
+    void leave(int mark) {
+        depth--;
+        if (null != path)
+            path.setLength(mark);
+    }
+
+    private String pathTo(String name) {
+        return 0 == path.length() ? name : path + "." + name;
+    }
+
+    private static JsonMapperException limitException(String message) {
+        return new JsonMapperException(
+                ErrorMessage.MAPPER,
+                Collections.singletonList(new ErrorDetail("request", message)));
+    }
+
+}
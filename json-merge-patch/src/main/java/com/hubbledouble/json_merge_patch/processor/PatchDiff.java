@@ -0,0 +1,285 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.processor;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.hubbledouble.json_merge_patch.constant.ErrorMessage;
+import com.hubbledouble.json_merge_patch.exception.ErrorDetail;
+import com.hubbledouble.json_merge_patch.exception.IllegalSetupException;
+import com.hubbledouble.json_merge_patch.exception.JsonMergePatchException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+
+import static com.hubbledouble.json_merge_patch.utils.ReflectionUtils.getDeclaringPackageName;
+
+/**
+ * Inverse of {@link HTTPMethodProcessor#patch(String, Object)}: writes the merge patch turning one state of an object
+ * into another, holding only the properties that changed.
+ *
+ * <pre>
+ * Skeleton example:
+ * <code>
+ *
+ *     T before = copy(object);
+ *     update(object);
+ *     PatchDiff.diff(before, object, outputStream);
+ *
+ * </code>
+ * </pre>
+ * <p>
+ * Properties are walked through the same per-class plans the patch uses. Identical references and equal values are
+ * skipped, maps and nested beans of the patched object's package are diffed entry by entry and any other changed value,
+ * collections included, is written whole. A property set to null is written as null, which removes it.
+ *
+ * @author Jorge Saldivar
+ * @see <a href="https://tools.ietf.org/html/rfc7386">RFC-7386</a>
+ */
+public final class PatchDiff {
+
+    private PatchDiff() {
+    }
+
+    /**
+     * @param original - state the patch applies to
+     * @param target   - state the patch leads to, of the same class as the original
+     * @param <T>
+     * @return merge patch, an empty object when both states are equal
+     * @throws JsonMergePatchException
+     */
+    public static <T> String diff(T original, T target) {
+        return diff(original, target, PatchOptions.defaults());
+    }
+
+    /**
+     * Same as {@link #diff(Object, Object)}, writing values with the mapper of the options.
+     */
+    public static <T> String diff(T original, T target, PatchOptions options) {
+        final StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = options.getMapper().getObjectMapper().getFactory().createGenerator(writer)) {
+            diff(original, target, generator, options);
+        } catch (IOException e) {
+            throw internalException(e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Same as {@link #diff(Object, Object)}, writing the patch as UTF-8 to the stream. The stream is not closed.
+     */
+    public static <T> void diff(T original, T target, OutputStream out) {
+        diff(original, target, out, PatchOptions.defaults());
+    }
+
+    /**
+     * @see #diff(Object, Object, OutputStream)
+     */
+    public static <T> void diff(T original, T target, OutputStream out, PatchOptions options) {
+        try (JsonGenerator generator = options.getMapper().getObjectMapper().getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            diff(original, target, generator, options);
+        } catch (IOException e) {
+            throw internalException(e);
+        }
+    }
+
+    /**
+     * Same as {@link #diff(Object, Object)}, writing the patch as the next value of the generator.
+     * The generator is neither flushed nor closed.
+     */
+    public static <T> void diff(T original, T target, JsonGenerator generator, PatchOptions options) {
+
+        if (null == original || null == target || original.getClass() != target.getClass())
+            throw new IllegalSetupException(
+                    ErrorMessage.SETUP,
+                    Collections.singletonList(new ErrorDetail("target", "Original and target must be instances of the same class")));
+
+        try {
+
+            final ObjectWriter writer = options.getMapper().getObjectMapper().writer()
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            if (original instanceof Collection) {
+                writer.writeValue(generator, target);
+                return;
+            }
+
+            final Scope root = new Scope(null, null);
+            root.open = true;
+            final Diff diff = new Diff(generator, writer, getDeclaringPackageName(original));
+            generator.writeStartObject();
+            if (original instanceof Map)
+                diffMap((Map<?, ?>) original, (Map<?, ?>) target, root, diff);
+            else
+                diffObject(original, target, root, diff);
+            generator.writeEndObject();
+
+        } catch (IOException e) {
+            throw internalException(e);
+        }
+
+    }
+
+    private static void diffObject(Object original, Object target, Scope scope, Diff diff) throws IOException {
+
+        final PatchPlan plan = PatchPlan.of(original.getClass());
+        if (!plan.isDeclaredIn(diff.declaringPackageName))
+            return;
+
+        for (PatchProperty property : plan.properties()) {
+
+            final Object before = property.get(original);
+            final Object after = property.get(target);
+            if (before == after)
+                continue;
+
+            if (property.isNested())
+                diffValue(property.getName(), before, after, scope, diff);
+            else if (!Objects.deepEquals(before, after))
+                write(property.getName(), after, scope, diff);
+
+        }
+
+    }
+
+    /**
+     * Removed keys are written as null. Null values cannot be told apart from removed keys in a merge patch,
+     * so a key set to null is written as removed.
+     */
+    private static void diffMap(Map<?, ?> original, Map<?, ?> target, Scope scope, Diff diff) throws IOException {
+
+        for (Object key : original.keySet())
+            if (!target.containsKey(key))
+                write(String.valueOf(key), null, scope, diff);
+
+        for (Map.Entry<?, ?> entry : target.entrySet()) {
+            final Object before = original.get(entry.getKey());
+            if (before != entry.getValue())
+                diffValue(String.valueOf(entry.getKey()), before, entry.getValue(), scope, diff);
+        }
+
+    }
+
+    private static void diffValue(String name, Object before, Object after, Scope scope, Diff diff) throws IOException {
+
+        if (before instanceof Map && after instanceof Map) {
+            final Scope nested = new Scope(scope, name);
+            diffMap((Map<?, ?>) before, (Map<?, ?>) after, nested, diff);
+            close(nested, diff.generator);
+        } else if (isMergeable(before, after, diff)) {
+            final Scope nested = new Scope(scope, name);
+            diffObject(before, after, nested, diff);
+            close(nested, diff.generator);
+        } else if (!Objects.deepEquals(before, after)) {
+            write(name, after, scope, diff);
+        }
+
+    }
+
+    private static void write(String name, Object value, Scope scope, Diff diff) throws IOException {
+        open(scope, diff.generator);
+        diff.generator.writeFieldName(name);
+        if (null == value)
+            diff.generator.writeNull();
+        else
+            diff.writer.writeValue(diff.generator, value);
+    }
+
+    /**
+     * A json object is merged into beans of the patched object's package, see {@link NodeProcessor}.
+     */
+    private static boolean isMergeable(Object before, Object after, Diff diff) {
+        return null != before
+                && null != after
+                && before.getClass() == after.getClass()
+                && PatchPlan.of(before.getClass()).isDeclaredIn(diff.declaringPackageName);
+    }
+
+    /**
+     * Writes the keys leading to the scope the first time one of its properties changed.
+     */
+    private static void open(Scope scope, JsonGenerator generator) throws IOException {
+        if (scope.open)
+            return;
+        open(scope.parent, generator);
+        generator.writeFieldName(scope.name);
+        generator.writeStartObject();
+        scope.open = true;
+    }
+
+    private static void close(Scope scope, JsonGenerator generator) throws IOException {
+        if (scope.open)
+            generator.writeEndObject();
+    }
+
+    private static JsonMergePatchException internalException(IOException e) {
+        return new JsonMergePatchException(
+                ErrorMessage.INTERNAL,
+                Collections.singletonList(new ErrorDetail("unknown", e.getMessage())));
+    }
+
+    /**
+     * Nested object of the patch, written once a property below it changed.
+     */
+    private static final class Scope {
+
+        private final Scope parent;
+        private final String name;
+        private boolean open;
+
+        Scope(Scope parent, String name) {
+            this.parent = parent;
+            this.name = name;
+        }
+
+    }
+
+    private static final class Diff {
+
+        private final JsonGenerator generator;
+        private final ObjectWriter writer;
+        private final String declaringPackageName;
+
+        Diff(JsonGenerator generator, ObjectWriter writer, String declaringPackageName) {
+            this.generator = generator;
+            this.writer = writer;
+            this.declaringPackageName = declaringPackageName;
+        }
+
+    }
+
+}
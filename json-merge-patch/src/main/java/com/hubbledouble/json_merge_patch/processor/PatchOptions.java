@@ -0,0 +1,220 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.processor;
+
+import com.hubbledouble.json_merge_patch.constant.PatchMode;
+import com.hubbledouble.json_merge_patch.mapper.JSONMapper;
+import com.hubbledouble.json_merge_patch.metrics.PatchListener;
+import com.hubbledouble.json_merge_patch.validator.PatchValidator;
+
+/**
+ * Immutable options for {@link HTTPMethodProcessor#patch(String, Object, PatchOptions)}.
+ *
+ * <pre>
+ * <code>
+ *     HTTPMethodProcessor.patch(json, object, PatchOptions.defaults().withMode(PatchMode.STREAMING));
+ * </code>
+ * </pre>
+ *
+ * @author Jorge Saldivar
+ */
+public final class PatchOptions {
+
+    private static final PatchOptions DEFAULTS = new PatchOptions(PatchMode.TREE, true, null, false, null, JSONMapper.defaults(), Integer.MAX_VALUE, Integer.MAX_VALUE, null);
+
+    private final PatchMode mode;
+    private final boolean caseInsensitive;
+    private final PatchCache cache;
+    private final boolean incrementalValidation;
+    private final PatchValidator validator;
+    private final JSONMapper mapper;
+    private final int maxDepth;
+    private final int maxFields;
+    private final PatchListener listener;
+
+    private PatchOptions(PatchMode mode,
+                         boolean caseInsensitive,
+                         PatchCache cache,
+                         boolean incrementalValidation,
+                         PatchValidator validator,
+                         JSONMapper mapper,
+                         int maxDepth,
+                         int maxFields,
+                         PatchListener listener) {
+        this.mode = mode;
+        this.caseInsensitive = caseInsensitive;
+        this.cache = cache;
+        this.incrementalValidation = incrementalValidation;
+        this.validator = validator;
+        this.mapper = mapper;
+        this.maxDepth = maxDepth;
+        this.maxFields = maxFields;
+        this.listener = listener;
+    }
+
+    public static PatchOptions defaults() {
+        return DEFAULTS;
+    }
+
+    public PatchOptions withMode(PatchMode mode) {
+        return new PatchOptions(null != mode ? mode : PatchMode.TREE, caseInsensitive, cache, incrementalValidation, validator, mapper, maxDepth, maxFields, listener);
+    }
+
+    /**
+     * Whether request keys match fields differing only in case, enabled by default.
+     * A field with the exact name is always preferred.
+     *
+     * @param caseInsensitive
+     * @return
+     */
+    public PatchOptions withCaseInsensitive(boolean caseInsensitive) {
+        return new PatchOptions(mode, caseInsensitive, cache, incrementalValidation, validator, mapper, maxDepth, maxFields, listener);
+    }
+
+    /**
+     * Cache of parsed requests, shared by every call given these options. Disabled by default.
+     * Only requests passed as {@code String} or {@code byte[]} are cached.
+     *
+     * @param cache - cache to use, null to disable caching
+     * @return
+     */
+    public PatchOptions withCache(PatchCache cache) {
+        return new PatchOptions(mode, caseInsensitive, cache, incrementalValidation, validator, mapper, maxDepth, maxFields, listener);
+    }
+
+    /**
+     * Whether only the properties the request changed are validated after patching, disabled by default.
+     * Class level constraints of the objects on the way to them are validated too,
+     * while untouched properties and the objects they cascade to are skipped.
+     * Map and collection roots are always fully validated.
+     *
+     * @param incrementalValidation
+     * @return
+     */
+    public PatchOptions withIncrementalValidation(boolean incrementalValidation) {
+        return new PatchOptions(mode, caseInsensitive, cache, incrementalValidation, validator, mapper, maxDepth, maxFields, listener);
+    }
+
+    /**
+     * Validator of patched objects, by default Bean Validation bootstrapped on first use.
+     * {@link PatchValidator#NONE} skips validation.
+     *
+     * @param validator - validator to use, null for the default one
+     * @return
+     */
+    public PatchOptions withValidator(PatchValidator validator) {
+        return new PatchOptions(mode, caseInsensitive, cache, incrementalValidation, validator, mapper, maxDepth, maxFields, listener);
+    }
+
+    /**
+     * Mapper reading requests, by default one over {@code new ObjectMapper()}.
+     * Deserialization features and modules of its {@link com.fasterxml.jackson.databind.ObjectMapper} apply to every request.
+     *
+     * @param mapper - mapper to use, null for the default one
+     * @return
+     */
+    public PatchOptions withMapper(JSONMapper mapper) {
+        return new PatchOptions(mode, caseInsensitive, cache, incrementalValidation, validator,
+                null != mapper ? mapper : JSONMapper.defaults(), maxDepth, maxFields, listener);
+    }
+
+    /**
+     * Maximum number of nested objects the request merges into, one level per object below the root.
+     * Unlimited by default. Values replacing a property whole are not counted.
+     *
+     * @param maxDepth
+     * @return
+     */
+    public PatchOptions withMaxDepth(int maxDepth) {
+        if (maxDepth < 0)
+            throw new IllegalArgumentException("Max depth must not be negative");
+        return new PatchOptions(mode, caseInsensitive, cache, incrementalValidation, validator, mapper, maxDepth, maxFields, listener);
+    }
+
+    /**
+     * Maximum number of request keys applied in a single patch, nested ones included. Unlimited by default.
+     *
+     * @param maxFields
+     * @return
+     */
+    public PatchOptions withMaxFields(int maxFields) {
+        if (maxFields < 0)
+            throw new IllegalArgumentException("Max fields must not be negative");
+        return new PatchOptions(mode, caseInsensitive, cache, incrementalValidation, validator, mapper, maxDepth, maxFields, listener);
+    }
+
+    /**
+     * Listener notified with the timings and counters of every patched object. None by default,
+     * in which case nothing is measured.
+     *
+     * @param listener - listener to notify, null to disable metrics
+     * @return
+     */
+    public PatchOptions withListener(PatchListener listener) {
+        return new PatchOptions(mode, caseInsensitive, cache, incrementalValidation, validator, mapper, maxDepth, maxFields, listener);
+    }
+
+    public PatchMode getMode() {
+        return mode;
+    }
+
+    public boolean isCaseInsensitive() {
+        return caseInsensitive;
+    }
+
+    public PatchCache getCache() {
+        return cache;
+    }
+
+    public boolean isIncrementalValidation() {
+        return incrementalValidation;
+    }
+
+    public PatchValidator getValidator() {
+        return validator;
+    }
+
+    public JSONMapper getMapper() {
+        return mapper;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public int getMaxFields() {
+        return maxFields;
+    }
+
+    public PatchListener getListener() {
+        return listener;
+    }
+
+}
@@ -0,0 +1,207 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.processor;
+
+import com.hubbledouble.json_merge_patch.annotation.PatchVersion;
+import com.hubbledouble.json_merge_patch.annotation.Patchable;
+import com.hubbledouble.json_merge_patch.utils.ReflectionUtils;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compiled view of a class used while patching.
+ * Holds the patchable properties of the class, the subset that may hold nested beans
+ * and a {@link PropertyIndex} to find them by name, so a class is only introspected once.
+ * Fields are accessed through the generated {@link PatchApplier} of {@link Patchable} classes when there is one,
+ * and through method handles otherwise. Either way the field itself is read and written, never its getter or setter.
+ * <p>
+ * Plans are cached through a {@link ClassValue}: there is at most one plan per loaded class
+ * and it is released together with the class when its class loader is unloaded.
+ *
+ * @author Jorge Saldivar
+ */
+final class PatchPlan {
+
+    private static final ClassValue<PatchPlan> PLANS = new ClassValue<PatchPlan>() {
+        @Override
+        protected PatchPlan computeValue(Class<?> type) {
+            return new PatchPlan(type);
+        }
+    };
+
+    private final String typeName;
+    private final boolean javaSource;
+    private final PatchProperty[] properties;
+    private final PatchProperty[] nestedProperties;
+    private final PropertyIndex index;
+    private final Class<?> type;
+    private volatile Constructor<?> constructor;
+    private final PatchProperty versionProperty;
+
+    private PatchPlan(Class<?> type) {
+
+        this.type = type;
+        this.typeName = type.getName();
+        this.javaSource = ReflectionUtils.isClassFromJavaSource(type);
+
+        List<PatchProperty> resolved = new ArrayList<>();
+        List<PatchProperty> nested = new ArrayList<>();
+        PatchProperty version = null;
+
+        if (!javaSource) {
+            final PatchApplier<Object> applier = generatedApplier(type);
+            for (Field field : type.getDeclaredFields())
+                if (!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic()) {
+                    PatchProperty property = new PatchProperty(field, applier);
+                    resolved.add(property);
+                    if (property.isNested())
+                        nested.add(property);
+                    if (field.isAnnotationPresent(PatchVersion.class))
+                        version = property;
+                }
+        }
+
+        this.properties = resolved.toArray(new PatchProperty[0]);
+        this.nestedProperties = nested.toArray(new PatchProperty[0]);
+        this.index = new PropertyIndex(properties);
+        this.versionProperty = null != version || javaSource || null == type.getSuperclass() ?
+                version :
+                of(type.getSuperclass()).versionProperty;
+
+    }
+
+    static PatchPlan of(Class<?> type) {
+        return PLANS.get(type);
+    }
+
+    /**
+     * Verifies if the class belongs to the package of the object being patched.
+     * Classes from java sources never do.
+     *
+     * @param declaringPackageName
+     * @return
+     */
+    boolean isDeclaredIn(String declaringPackageName) {
+        return !javaSource && typeName.contains(declaringPackageName);
+    }
+
+    /**
+     * Property lookup ignoring case, the default way json keys are matched against field names.
+     *
+     * @param name
+     * @return the property or null when the class does not declare it
+     */
+    PatchProperty property(String name) {
+        return property(name, true);
+    }
+
+    /**
+     * @param name
+     * @param caseInsensitive whether a field differing only in case matches, an exact match is always preferred
+     * @return the property or null when the class does not declare it
+     */
+    PatchProperty property(String name, boolean caseInsensitive) {
+        return null != name ? index.get(name, caseInsensitive) : null;
+    }
+
+    PatchProperty[] properties() {
+        return properties;
+    }
+
+    /**
+     * Shallow copy of the bean through the no argument constructor of its class,
+     * with the fields declared by the class and by its superclasses outside of java sources copied.
+     *
+     * @param bean - instance of the class of the plan
+     * @return
+     * @throws ReflectiveOperationException when the class cannot be instantiated
+     */
+    Object copy(Object bean) throws ReflectiveOperationException {
+
+        Constructor<?> resolved = constructor;
+        if (null == resolved) {
+            resolved = type.getDeclaredConstructor();
+            resolved.setAccessible(true);
+            constructor = resolved;
+        }
+
+        final Object copy = resolved.newInstance();
+        copyFields(copy, bean);
+        return copy;
+
+    }
+
+    /**
+     * Copies the fields declared by the class and by its superclasses outside of java sources from one bean to another.
+     *
+     * @param target - instance of the class of the plan the fields are written to
+     * @param source - instance of the class of the plan the fields are read from
+     */
+    void copyFields(Object target, Object source) {
+        for (Class<?> declaring = type; null != declaring && !ReflectionUtils.isClassFromJavaSource(declaring); declaring = declaring.getSuperclass())
+            for (PatchProperty property : of(declaring).properties)
+                property.accessor().copy(target, source);
+    }
+
+    /**
+     * Field annotated with {@link PatchVersion}, declared by the class or by one of its superclasses.
+     *
+     * @return the property or null when there is none
+     */
+    PatchProperty versionProperty() {
+        return versionProperty;
+    }
+
+    PatchProperty[] nestedProperties() {
+        return nestedProperties;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static PatchApplier<Object> generatedApplier(Class<?> type) {
+
+        if (!type.isAnnotationPresent(Patchable.class))
+            return null;
+
+        try {
+            return (PatchApplier<Object>) Class
+                    .forName(type.getName() + PatchApplier.SUFFIX, true, type.getClassLoader())
+                    .getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | LinkageError | ClassCastException e) {
+            return null;
+        }
+
+    }
+
+}
@@ -0,0 +1,119 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.processor;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.hubbledouble.json_merge_patch.mapper.JSONMapper;
+import com.hubbledouble.json_merge_patch.utils.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * Pre-resolved field of a {@link PatchPlan}.
+ * Its {@link FieldAccessor} is resolved once, when the plan is built.
+ *
+ * @author Jorge Saldivar
+ */
+final class PatchProperty {
+
+    private final Field field;
+    private final FieldAccessor accessor;
+    private final String name;
+    private final boolean nested;
+    private volatile JavaType javaType;
+
+    PatchProperty(Field field, PatchApplier<Object> applier) {
+        this.field = field;
+        this.name = field.getName();
+        this.accessor = null != applier && applier.supports(name) ?
+                new GeneratedFieldAccessor(applier, name) :
+                new MethodHandleFieldAccessor(field);
+        this.nested = mayHoldNestedBean(field.getType());
+    }
+
+    String getName() {
+        return name;
+    }
+
+    Class<?> getType() {
+        return field.getType();
+    }
+
+    /**
+     * Declared type of the field, generics included, used to bind json values.
+     * Resolved through the type factory of the mapper; the type of the default mapper is resolved once and kept.
+     *
+     * @param mapper - mapper the value is bound with
+     * @return
+     */
+    JavaType getJavaType(JSONMapper mapper) {
+        if (JSONMapper.defaults() != mapper)
+            return mapper.constructType(field.getGenericType());
+        JavaType resolved = javaType;
+        if (null == resolved)
+            javaType = resolved = mapper.constructType(field.getGenericType());
+        return resolved;
+    }
+
+    /**
+     * Whether a value of this property can be a bean whose own fields need exploring.
+     * Primitives, arrays, enums and final java types never are.
+     *
+     * @return
+     */
+    boolean isNested() {
+        return nested;
+    }
+
+    boolean isPrimitive() {
+        return field.getType().isPrimitive();
+    }
+
+    FieldAccessor accessor() {
+        return accessor;
+    }
+
+    Object get(Object bean) {
+        return accessor.get(bean);
+    }
+
+    void set(Object bean, Object value) {
+        accessor.set(bean, value);
+    }
+
+    private static boolean mayHoldNestedBean(Class<?> type) {
+        return !type.isPrimitive()
+                && !type.isArray()
+                && !type.isEnum()
+                && !(ReflectionUtils.isClassFromJavaSource(type) && Modifier.isFinal(type.getModifiers()));
+    }
+
+}
@@ -0,0 +1,176 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.processor;
+
+import com.hubbledouble.json_merge_patch.exception.ValidationException;
+import com.hubbledouble.json_merge_patch.metrics.PatchListener;
+import com.hubbledouble.json_merge_patch.metrics.PatchMetrics;
+import com.hubbledouble.json_merge_patch.metrics.PatchPhase;
+
+/**
+ * Times the phases of a single patched object and reports them to the listener of the options.
+ * Phases run in order, starting with {@link PatchPhase#PARSE}, and the time of each one lasts until the next starts.
+ * Without a listener every call returns straight away, without reading the clock.
+ *
+ * @author Jorge Saldivar
+ */
+final class PatchRecorder {
+
+    private static final PatchRecorder NONE = new PatchRecorder(null, null, -1);
+
+    private final PatchListener listener;
+    private final Class<?> targetClass;
+    private final long requestSize;
+    private final long[] nanos;
+    private PatchContext context;
+    private int phase;
+    private long mark;
+    private boolean reported;
+
+    private PatchRecorder(PatchListener listener, Class<?> targetClass, long requestSize) {
+        this.listener = listener;
+        this.targetClass = targetClass;
+        this.requestSize = requestSize;
+        this.nanos = null != listener ? new long[PatchPhase.values().length] : null;
+        this.mark = null != listener ? System.nanoTime() : 0;
+    }
+
+    /**
+     * @param requestSize - length of the request in bytes, -1 when unknown
+     */
+    static PatchRecorder start(PatchOptions options, Object object, long requestSize) {
+        final PatchListener listener = options.getListener();
+        if (null == listener)
+            return NONE;
+        return new PatchRecorder(listener, null != object ? object.getClass() : null, requestSize);
+    }
+
+    /**
+     * Length of the request in UTF-8 bytes, the unit binary requests are reported in.
+     * Counted without encoding the request, and only when the options have a listener.
+     *
+     * @return -1 for a null request or without a listener
+     */
+    static long requestSize(PatchOptions options, String request) {
+        if (null == options.getListener() || null == request)
+            return -1;
+        long size = 0;
+        for (int i = 0; i < request.length(); i++) {
+            final char c = request.charAt(i);
+            if (c < 0x80)
+                size++;
+            else if (c < 0x800)
+                size += 2;
+            else if (Character.isHighSurrogate(c) && i + 1 < request.length() && Character.isLowSurrogate(request.charAt(i + 1))) {
+                size += 4;
+                i++;
+            } else
+                size += 3;
+        }
+        return size;
+    }
+
+    static PatchRecorder none() {
+        return NONE;
+    }
+
+    /**
+     * Ends the parse phase.
+     */
+    void applying() {
+        if (null != listener)
+            next(PatchPhase.APPLY);
+    }
+
+    /**
+     * Ends the apply phase.
+     *
+     * @param context - state of the patch the counters are read from, null keeps the one counted so far
+     */
+    void validating(PatchContext context) {
+        if (null == listener)
+            return;
+        if (null != context)
+            this.context = context;
+        next(PatchPhase.VALIDATION);
+    }
+
+    /**
+     * Reads the counters from the context, staying in the current phase.
+     */
+    void counting(PatchContext context) {
+        if (null != listener)
+            this.context = context;
+    }
+
+    void succeeded() {
+        if (null != listener)
+            report(null);
+    }
+
+    /**
+     * Reports the patch as failed in its current phase. Nothing is reported when it already was.
+     */
+    void failed(Exception exception) {
+        if (null != listener)
+            report(exception);
+    }
+
+    private void next(PatchPhase next) {
+        final long now = System.nanoTime();
+        nanos[phase] += now - mark;
+        phase = next.ordinal();
+        mark = now;
+    }
+
+    private void report(Exception exception) {
+
+        if (reported)
+            return;
+        reported = true;
+        nanos[phase] += System.nanoTime() - mark;
+
+        final PatchMetrics metrics = new PatchMetrics(
+                targetClass,
+                requestSize,
+                nanos,
+                null != context ? context.getFieldsVisited() : 0,
+                null != context ? context.getFieldsWritten() : 0,
+                exception instanceof ValidationException ? ((ValidationException) exception).getErrorDetails().size() : 0,
+                null != exception);
+        try {
+            listener.onPatch(metrics);
+        } catch (RuntimeException e) {
+            // metrics never fail a patch
+        }
+
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.processor;
+
+/**
+ * Open addressing lookup table from request keys to the properties of a {@link PatchPlan}.
+ * <p>
+ * Exact lookups use the hash cached by the key string and compare by identity first: field names
+ * and the keys read by Jackson are both interned. Case-insensitive lookups fold the key's case while
+ * hashing it, so neither lookup allocates.
+ *
+ * @author Jorge Saldivar
+ */
+final class PropertyIndex {
+
+    private final int mask;
+    private final PatchProperty[] exact;
+    private final int[] exactHashes;
+    private final PatchProperty[] folded;
+    private final int[] foldedHashes;
+
+    PropertyIndex(PatchProperty[] properties) {
+
+        int capacity = 2;
+        while (capacity < properties.length * 2)
+            capacity <<= 1;
+
+        this.mask = capacity - 1;
+        this.exact = new PatchProperty[capacity];
+        this.exactHashes = new int[capacity];
+        this.folded = new PatchProperty[capacity];
+        this.foldedHashes = new int[capacity];
+
+        for (PatchProperty property : properties) {
+            insert(exact, exactHashes, property, property.getName().hashCode());
+            insert(folded, foldedHashes, property, foldedHash(property.getName()));
+        }
+
+    }
+
+    /**
+     * @param key             request key
+     * @param caseInsensitive whether a property differing only in case matches, an exact match is always preferred
+     * @return the property or null when there is none for the key
+     */
+    PatchProperty get(String key, boolean caseInsensitive) {
+
+        final int hash = key.hashCode();
+        for (int i = spread(hash) & mask; null != exact[i]; i = (i + 1) & mask) {
+            final String name = exact[i].getName();
+            if (name == key || (exactHashes[i] == hash && name.equals(key)))
+                return exact[i];
+        }
+
+        if (!caseInsensitive)
+            return null;
+
+        final int foldedHash = foldedHash(key);
+        for (int i = spread(foldedHash) & mask; null != folded[i]; i = (i + 1) & mask)
+            if (foldedHashes[i] == foldedHash && folded[i].getName().equalsIgnoreCase(key))
+                return folded[i];
+
+        return null;
+    }
+
+    private void insert(PatchProperty[] table, int[] hashes, PatchProperty property, int hash) {
+        int i = spread(hash) & mask;
+        while (null != table[i])
+            i = (i + 1) & mask;
+        table[i] = property;
+        hashes[i] = hash;
+    }
+
+    /**
+     * Hash consistent with {@link String#equalsIgnoreCase(String)}: strings equal ignoring case hash the same.
+     */
+    private static int foldedHash(String key) {
+        int hash = 0;
+        for (int i = 0; i < key.length(); i++)
+            hash = 31 * hash + Character.toLowerCase(Character.toUpperCase(key.charAt(i)));
+        return hash;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+}
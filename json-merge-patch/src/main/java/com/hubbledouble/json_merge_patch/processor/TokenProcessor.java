@@ -0,0 +1,217 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.processor;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.hubbledouble.json_merge_patch.constant.ErrorMessage;
+import com.hubbledouble.json_merge_patch.exception.ErrorDetail;
+import com.hubbledouble.json_merge_patch.exception.FieldUpdateException;
+import com.hubbledouble.json_merge_patch.exception.JsonMapperException;
+import com.hubbledouble.json_merge_patch.mapper.JSONMapper;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Processor for token-driven patching.
+ * Reads the request once and writes every value straight into the matching field of the object.
+ *
+ * @author Jorge Saldivar
+ */
+class TokenProcessor {
+
+    private TokenProcessor() {
+    }
+
+    /**
+     * Patches the object with the value at the parser's current token,
+     * or at the first token when the parser has not been advanced yet.
+     *
+     * @param context - state of the patch, created by the caller so it outlives a failure
+     * @return the context, null for map and collection roots
+     */
+    static <T> PatchContext patch(JsonParser parser, T object, PatchContext context) {
+
+        final PatchOptions options = context.getOptions();
+
+        try {
+
+            if (!parser.hasCurrentToken())
+                parser.nextToken();
+
+            if (object instanceof Map) {
+                if (JsonToken.START_OBJECT != parser.currentToken())
+                    throw mapperException(parser, "Request must be a json object");
+                FieldProcessor.mergeMap(
+                        (Map) object,
+                        options.getMapper().readTree(parser),
+                        options.getMapper().constructType(object.getClass()),
+                        context);
+                return null;
+            }
+
+            if (object instanceof Collection) {
+                FieldProcessor.replaceCollection((Collection) object, options.getMapper().readValue(parser, options.getMapper().constructType(object.getClass())));
+                return null;
+            }
+
+            if (JsonToken.START_OBJECT != parser.currentToken())
+                throw mapperException(parser, "Request must be a json object");
+            processObject(parser, object, context);
+            return context;
+
+        } catch (IOException e) {
+
+            throw mapperException(parser, e.getMessage());
+
+        }
+
+    }
+
+    static void processObject(JsonParser parser,
+                              Object object,
+                              PatchContext context) throws IOException {
+
+        final PatchPlan plan = PatchPlan.of(object.getClass());
+        final boolean declared = plan.isDeclaredIn(context.getDeclaringPackageName());
+        while (JsonToken.FIELD_NAME == parser.nextToken()) {
+
+            context.visitField();
+            final PatchProperty property = declared ? context.property(plan, parser.getCurrentName()) : null;
+            if (null == property && context.isFailOnUnknownProperties())
+                throw mapperException(parser, "Unrecognized field \"" + parser.getCurrentName() + "\"");
+
+            parser.nextToken();
+            if (null == property)
+                parser.skipChildren();
+            else
+                processValue(parser, object, property, context);
+
+        }
+
+    }
+
+    private static void processValue(JsonParser parser,
+                                     Object object,
+                                     PatchProperty property,
+                                     PatchContext context) throws IOException {
+
+        try {
+
+            if (parser.isExpectedStartObjectToken()) {
+                final Object value = property.get(object);
+                if (value instanceof Map || (null == value && Map.class.isAssignableFrom(property.getType()))) {
+                    FieldProcessor.mergeMap(object, property, context.getOptions().getMapper().readTree(parser), context);
+                    return;
+                }
+                if (null != value) {
+                    // objects of classes declared elsewhere are left as they are, as in tree mode
+                    if (PatchPlan.of(value.getClass()).isDeclaredIn(context.getDeclaringPackageName())) {
+                        final int mark = context.enter(property);
+                        processObject(parser, value, context);
+                        context.leave(mark);
+                    } else {
+                        parser.skipChildren();
+                    }
+                    return;
+                }
+            }
+
+            if (parser.isExpectedStartArrayToken())
+                FieldProcessor.updateCollection(object, property, context.getOptions().getMapper().readValue(parser, property.getJavaType(context.getOptions().getMapper())));
+            else if (!property.isPrimitive() || !writePrimitive(parser, object, property))
+                property.set(object, context.getOptions().getMapper().readValue(parser, property.getJavaType(context.getOptions().getMapper())));
+            context.replaced(property);
+
+        } catch (IllegalArgumentException e) {
+
+            throw new FieldUpdateException(
+                    ErrorMessage.INTERNAL,
+                    Collections.singletonList(new ErrorDetail(property.getName(), e.getMessage())));
+
+        }
+
+    }
+
+    /**
+     * Writes numeric and boolean tokens into primitive fields without boxing.
+     * Any other token, such as a number sent as a string, is left to the mapper.
+     *
+     * @return whether the value was written
+     */
+    private static boolean writePrimitive(JsonParser parser, Object object, PatchProperty property) throws IOException {
+
+        final Class<?> type = property.getType();
+        final JsonToken token = parser.currentToken();
+        final FieldAccessor accessor = property.accessor();
+
+        if (JsonToken.VALUE_NUMBER_INT == token) {
+            if (int.class == type)
+                accessor.setInt(object, parser.getIntValue());
+            else if (long.class == type)
+                accessor.setLong(object, parser.getLongValue());
+            else if (double.class == type)
+                accessor.setDouble(object, parser.getDoubleValue());
+            else if (float.class == type)
+                accessor.setFloat(object, parser.getFloatValue());
+            else
+                return false;
+            return true;
+        }
+
+        if (JsonToken.VALUE_NUMBER_FLOAT == token) {
+            if (double.class == type)
+                accessor.setDouble(object, parser.getDoubleValue());
+            else if (float.class == type)
+                accessor.setFloat(object, parser.getFloatValue());
+            else
+                return false;
+            return true;
+        }
+
+        if (token.isBoolean() && boolean.class == type) {
+            accessor.setBoolean(object, JsonToken.VALUE_TRUE == token);
+            return true;
+        }
+
+        return false;
+
+    }
+
+    private static JsonMapperException mapperException(JsonParser parser, String message) {
+        return new JsonMapperException(
+                ErrorMessage.MAPPER,
+                Collections.singletonList(new ErrorDetail(JSONMapper.location(parser), message)));
+    }
+
+}
@@ -0,0 +1,255 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.processor;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.hubbledouble.json_merge_patch.annotation.PatchVersion;
+import com.hubbledouble.json_merge_patch.constant.ErrorMessage;
+import com.hubbledouble.json_merge_patch.exception.ErrorDetail;
+import com.hubbledouble.json_merge_patch.exception.FieldUpdateException;
+import com.hubbledouble.json_merge_patch.exception.IllegalSetupException;
+import com.hubbledouble.json_merge_patch.exception.JsonMergePatchException;
+import com.hubbledouble.json_merge_patch.validator.PatchValidator;
+
+import java.util.Collections;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Optimistic concurrency control for objects patched by several threads.
+ * A patch is applied only when the {@link PatchVersion} field of the object holds the expected version,
+ * which is then incremented. Patches of the same object are serialized through a table of striped locks,
+ * so patches of different objects rarely wait on each other.
+ *
+ * <pre>
+ * Skeleton example:
+ * <code>
+ *
+ *     private static final VersionedPatcher PATCHER = new VersionedPatcher(64);
+ *
+ *     public T patch(String json, String pathParamId, String ifMatch){
+ *          T object = repository.findById(pathParamId);
+ *          if (!PATCHER.patchIfMatch(json, object, ifMatch))
+ *              throw new PreconditionFailedException(VersionedPatcher.etag(object));
+ *          return object;
+ *     }
+ *
+ * </code>
+ * </pre>
+ * <p>
+ * A version mismatch returns false before the request is even parsed. The request is parsed once and first applied
+ * copy-on-write, as {@link HTTPMethodProcessor#patchCopy(String, Object, PatchOptions)} does, then applied to the object
+ * in place only once the patched copy passed validation. A failing request therefore throws leaving both the object and
+ * its version untouched, while the nested beans, maps and collections the object holds keep their identity.
+ * Objects need a no argument constructor, and the listener of the options is only told about the first pass.
+ * Values the request sets on the version field itself are overwritten by the incremented version.
+ *
+ * @author Jorge Saldivar
+ */
+public final class VersionedPatcher {
+
+    private final ReentrantLock[] locks;
+    private final Function<Object, Object> key;
+
+    /**
+     * Locks objects by identity.
+     *
+     * @param stripes - number of locks, rounded up to a power of two, at most 65536
+     */
+    public VersionedPatcher(int stripes) {
+        this(stripes, null);
+    }
+
+    /**
+     * Locks objects by the key the function returns, e.g. their id, for entities held by several instances.
+     *
+     * @param stripes - number of locks, rounded up to a power of two, at most 65536
+     * @param key     - key of the object the lock is chosen by, null to lock by identity
+     */
+    public VersionedPatcher(int stripes, Function<Object, Object> key) {
+        if (stripes < 1)
+            throw new IllegalArgumentException("Stripes must be positive");
+        int size = 1;
+        while (size < stripes && size < 1 << 16)
+            size <<= 1;
+        this.locks = new ReentrantLock[size];
+        for (int i = 0; i < locks.length; i++)
+            locks[i] = new ReentrantLock();
+        this.key = key;
+    }
+
+    /**
+     * @param request         - partial json request
+     * @param object          - object where the partial json request will merge
+     * @param expectedVersion - version the object must hold
+     * @param <T>
+     * @return whether the object held the expected version and was patched
+     * @throws JsonMergePatchException
+     */
+    public <T> boolean patch(String request, T object, long expectedVersion) {
+        return patch(request, object, expectedVersion, PatchOptions.defaults());
+    }
+
+    /**
+     * @see #patch(String, Object, long)
+     */
+    public <T> boolean patch(String request, T object, long expectedVersion, PatchOptions options) {
+
+        final PatchProperty version = versionProperty(object);
+        final ReentrantLock lock = lockFor(object);
+        lock.lock();
+        try {
+
+            final long current = version(version, object);
+            if (current != expectedVersion)
+                return false;
+
+            final JsonNode tree = HTTPMethodProcessor.readTree(request, options);
+            HTTPMethodProcessor.patchCopy(tree, object, options);
+
+            final PatchPlan plan = PatchPlan.of(object.getClass());
+            final Object snapshot = snapshot(plan, object);
+            try {
+                HTTPMethodProcessor.patch(tree, object, options.withValidator(PatchValidator.NONE).withListener(null));
+            } catch (RuntimeException e) {
+                plan.copyFields(object, snapshot);
+                throw e;
+            }
+            version.set(object, long.class == version.getType() || Long.class == version.getType() ?
+                    (Object) (current + 1) :
+                    (Object) (int) (current + 1));
+            return true;
+
+        } finally {
+            lock.unlock();
+        }
+
+    }
+
+    /**
+     * Same as {@link #patch(String, Object, long)}, for an {@code If-Match} header value compared with
+     * the {@link #etag(Object) entity tag} of the object. {@code *} matches any version.
+     *
+     * @param request - partial json request
+     * @param object  - object where the partial json request will merge
+     * @param ifMatch - entity tag the object must match
+     * @param <T>
+     * @return whether the object matched and was patched
+     * @throws JsonMergePatchException
+     */
+    public <T> boolean patchIfMatch(String request, T object, String ifMatch) {
+        return patchIfMatch(request, object, ifMatch, PatchOptions.defaults());
+    }
+
+    /**
+     * @see #patchIfMatch(String, Object, String)
+     */
+    public <T> boolean patchIfMatch(String request, T object, String ifMatch, PatchOptions options) {
+
+        final PatchProperty version = versionProperty(object);
+        if (!"*".equals(ifMatch)) {
+            final long expected = parseEtag(ifMatch);
+            return expected >= 0 && patch(request, object, expected, options);
+        }
+
+        final ReentrantLock lock = lockFor(object);
+        lock.lock();
+        try {
+            return patch(request, object, version(version, object), options);
+        } finally {
+            lock.unlock();
+        }
+
+    }
+
+    /**
+     * Strong entity tag of the object's version, e.g. {@code "3"} quotes included. A null version is tagged {@code "0"}.
+     *
+     * @param object
+     * @return
+     */
+    public static String etag(Object object) {
+        return "\"" + version(versionProperty(object), object) + "\"";
+    }
+
+    /**
+     * @return the version of a strong entity tag, -1 when it is weak or malformed
+     */
+    private static long parseEtag(String etag) {
+        if (null == etag || etag.length() < 3 || '"' != etag.charAt(0) || '"' != etag.charAt(etag.length() - 1))
+            return -1;
+        try {
+            return Long.parseLong(etag.substring(1, etag.length() - 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Shallow copy of the object, restoring the fields the in-place pass replaced should it fail where the copy did not.
+     */
+    private static Object snapshot(PatchPlan plan, Object object) {
+        try {
+            return plan.copy(object);
+        } catch (ReflectiveOperationException e) {
+            throw new FieldUpdateException(
+                    ErrorMessage.INTERNAL,
+                    Collections.singletonList(new ErrorDetail(object.getClass().getName(), "Object cannot be copied: " + e)));
+        }
+    }
+
+    /**
+     * A null version counts as 0.
+     */
+    private static long version(PatchProperty version, Object object) {
+        final Object value = version.get(object);
+        return null != value ? ((Number) value).longValue() : 0;
+    }
+
+    private ReentrantLock lockFor(Object object) {
+        final int hash = null != key ? key.apply(object).hashCode() : System.identityHashCode(object);
+        return locks[(hash ^ (hash >>> 16)) & (locks.length - 1)];
+    }
+
+    private static PatchProperty versionProperty(Object object) {
+        final PatchProperty version = null != object ? PatchPlan.of(object.getClass()).versionProperty() : null;
+        if (null == version)
+            throw new IllegalSetupException(
+                    ErrorMessage.SETUP,
+                    Collections.singletonList(new ErrorDetail("version", "Object must declare a field annotated with @PatchVersion")));
+        final Class<?> type = version.getType();
+        if (long.class != type && Long.class != type && int.class != type && Integer.class != type)
+            throw new IllegalSetupException(
+                    ErrorMessage.SETUP,
+                    Collections.singletonList(new ErrorDetail(version.getName(), "Version must be an int or a long")));
+        return version;
+    }
+
+}
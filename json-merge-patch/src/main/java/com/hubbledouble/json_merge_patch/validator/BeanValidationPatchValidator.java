@@ -0,0 +1,148 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.validator;
+
+import com.hubbledouble.json_merge_patch.exception.ErrorDetail;
+
+import javax.validation.Path;
+import javax.validation.TraversableResolver;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import java.lang.annotation.ElementType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@link PatchValidator} backed by Bean Validation.
+ * Classes without any constraint nor cascaded property are remembered and skipped.
+ * <p>
+ * Given a {@link ValidatorFactory}, only the paths a patch changed are validated when they are tracked.
+ * Given a {@link Validator} alone, objects are always fully validated.
+ *
+ * @author Jorge Saldivar
+ */
+public final class BeanValidationPatchValidator implements PatchValidator {
+
+    private static volatile BeanValidationPatchValidator defaults;
+
+    private final ValidatorFactory validatorFactory;
+    private final Validator validator;
+    private final ClassValue<Boolean> constrained = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return validator.getConstraintsForClass(type).isBeanConstrained();
+        }
+    };
+
+    public BeanValidationPatchValidator(ValidatorFactory validatorFactory) {
+        this.validatorFactory = validatorFactory;
+        this.validator = validatorFactory.getValidator();
+    }
+
+    public BeanValidationPatchValidator(Validator validator) {
+        this.validatorFactory = null;
+        this.validator = validator;
+    }
+
+    /**
+     * Validator of the default validator factory, bootstrapped on first use.
+     *
+     * @throws javax.validation.ValidationException when no Bean Validation provider is found,
+     *                                              bootstrapping is attempted again on the next call
+     */
+    public static BeanValidationPatchValidator defaults() {
+        BeanValidationPatchValidator resolved = defaults;
+        if (null == resolved) {
+            synchronized (BeanValidationPatchValidator.class) {
+                resolved = defaults;
+                if (null == resolved)
+                    defaults = resolved = new BeanValidationPatchValidator(Validation.buildDefaultValidatorFactory());
+            }
+        }
+        return resolved;
+    }
+
+    @Override
+    public List<ErrorDetail> validate(Object object, PatchedPaths patchedPaths) {
+
+        if (!constrained.get(object.getClass()))
+            return Collections.emptyList();
+
+        final Validator validator = null == patchedPaths || null == validatorFactory ?
+                this.validator :
+                validatorFactory.usingContext().traversableResolver(new PatchedPathsResolver(patchedPaths)).getValidator();
+
+        final List<ErrorDetail> errorDetails = new ArrayList<>();
+        validator
+                .validate(object)
+                .forEach(violation ->
+                        errorDetails.add(new ErrorDetail(violation.getPropertyPath().toString(), violation.getMessage())));
+        return errorDetails;
+
+    }
+
+    /**
+     * Lets the validator reach only the properties on the patched paths.
+     */
+    private static final class PatchedPathsResolver implements TraversableResolver {
+
+        private final PatchedPaths patchedPaths;
+
+        PatchedPathsResolver(PatchedPaths patchedPaths) {
+            this.patchedPaths = patchedPaths;
+        }
+
+        @Override
+        public boolean isReachable(Object traversableObject,
+                                   Path.Node traversableProperty,
+                                   Class<?> rootBeanType,
+                                   Path pathToTraversableObject,
+                                   ElementType elementType) {
+            final List<String> names = new ArrayList<>();
+            for (Path.Node node : pathToTraversableObject)
+                if (null != node.getName())
+                    names.add(node.getName());
+            return patchedPaths.isReachable(names, traversableProperty.getName());
+        }
+
+        @Override
+        public boolean isCascadable(Object traversableObject,
+                                    Path.Node traversableProperty,
+                                    Class<?> rootBeanType,
+                                    Path pathToTraversableObject,
+                                    ElementType elementType) {
+            return isReachable(traversableObject, traversableProperty, rootBeanType, pathToTraversableObject, elementType);
+        }
+
+    }
+
+}
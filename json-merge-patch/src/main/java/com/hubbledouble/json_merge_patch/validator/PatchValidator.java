@@ -27,45 +27,32 @@
  *
  */
 
-package com.hubbledouble.json_merge_patch.mapper;
+package com.hubbledouble.json_merge_patch.validator;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.hubbledouble.json_merge_patch.exception.JsonMapperException;
-import com.hubbledouble.json_merge_patch.constant.ErrorMessage;
 import com.hubbledouble.json_merge_patch.exception.ErrorDetail;
 
-import java.io.IOException;
 import java.util.Collections;
+import java.util.List;
 
 /**
+ * Validates objects once patched.
+ * The default one uses Bean Validation, see {@link BeanValidationPatchValidator}.
+ *
  * @author Jorge Saldivar
+ * @see com.hubbledouble.json_merge_patch.processor.PatchOptions#withValidator(PatchValidator)
  */
-public class JSONMapper {
-
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
-
-    private JSONMapper() {
-    }
+public interface PatchValidator {
 
-    public static <T> T jsonStringToObject(String request, Class<T> clazz) {
-        try {
-            return OBJECT_MAPPER.readValue(request, clazz);
-        } catch (IOException e) {
-            throw new JsonMapperException(
-                    ErrorMessage.MAPPER,
-                    Collections.singletonList(new ErrorDetail("request", e.getMessage())));
-        }
-    }
+    /**
+     * Validates nothing, for services not using constraints.
+     */
+    PatchValidator NONE = (object, patchedPaths) -> Collections.emptyList();
 
-    public static JsonNode jsonStringToJsonNode(String request) {
-        try {
-            return OBJECT_MAPPER.readTree(request);
-        } catch (IOException e) {
-            throw new JsonMapperException(
-                    ErrorMessage.MAPPER,
-                    Collections.singletonList(new ErrorDetail("request", e.getMessage())));
-        }
-    }
+    /**
+     * @param object       - patched object
+     * @param patchedPaths - paths the patch changed, null to validate the whole object
+     * @return violations found, empty when the object is valid
+     */
+    List<ErrorDetail> validate(Object object, PatchedPaths patchedPaths);
 
-}
\ No newline at end of file
+}
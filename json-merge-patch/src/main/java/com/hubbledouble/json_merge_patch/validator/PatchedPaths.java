@@ -0,0 +1,84 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.validator;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Property paths a patch changed, from the patched object, e.g. {@code secondNode.name}.
+ * <ul>
+ * <li>a merged path leads to an object the patch merged into, whose own touched properties are validated</li>
+ * <li>a replaced path holds a value the patch set, validated with everything it cascades to</li>
+ * </ul>
+ * Class level constraints of the objects on those paths are always validated.
+ *
+ * @author Jorge Saldivar
+ */
+public final class PatchedPaths {
+
+    private final Map<String, Boolean> replacedByPath = new HashMap<>();
+
+    public void merged(String path) {
+        replacedByPath.putIfAbsent(path, Boolean.FALSE);
+    }
+
+    public void replaced(String path) {
+        replacedByPath.put(path, Boolean.TRUE);
+    }
+
+    public boolean isEmpty() {
+        return replacedByPath.isEmpty();
+    }
+
+    /**
+     * Whether the property of the object found at the given path has to be validated.
+     *
+     * @param pathToObject - property names leading from the patched object to the one holding the property
+     * @param property     - property name
+     * @return
+     */
+    public boolean isReachable(Iterable<String> pathToObject, String property) {
+
+        final StringBuilder path = new StringBuilder();
+        for (String name : pathToObject) {
+            if (path.length() > 0)
+                path.append('.');
+            path.append(name);
+            if (Boolean.TRUE.equals(replacedByPath.get(path.toString())))
+                return true;
+        }
+        if (path.length() > 0)
+            path.append('.');
+        return replacedByPath.containsKey(path.append(property).toString());
+
+    }
+
+}
@@ -0,0 +1,154 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.validator;
+
+import com.hubbledouble.json_merge_patch.constant.ErrorMessage;
+import com.hubbledouble.json_merge_patch.exception.ErrorDetail;
+import com.hubbledouble.json_merge_patch.exception.IllegalSetupException;
+import com.hubbledouble.json_merge_patch.exception.ValidationException;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Request validator.
+ *
+ * @author Jorge Saldivar
+ */
+public class RequestValidator {
+
+    private RequestValidator() {
+    }
+
+    public static <T> void initialValidation(T t) {
+        if (null == t)
+            throw new ValidationException(
+                    ErrorMessage.VALIDATION,
+                    Collections.singletonList(new ErrorDetail("object", "Object must be initialized")));
+    }
+
+    /**
+     * Verifies if object is not breaking any javax constraint.
+     * Fail fast mechanism. If any exception is found, throw first constraint exception
+     *
+     * @param t
+     * @param <T>
+     */
+    public static <T> void finalValidation(T t) {
+        finalValidation(t, null, null);
+    }
+
+    /**
+     * Same as {@link #finalValidation(Object)}, validating only the paths a patch changed when they are given.
+     * Untouched properties, and the objects they cascade to, are skipped.
+     *
+     * @param t
+     * @param patchedPaths - paths changed by the patch, null to validate the whole object
+     * @param <T>
+     */
+    public static <T> void finalValidation(T t, PatchedPaths patchedPaths) {
+        finalValidation(t, patchedPaths, null);
+    }
+
+    /**
+     * Same as {@link #finalValidation(Object, PatchedPaths)}, with the given validator.
+     *
+     * @param t
+     * @param patchedPaths - paths changed by the patch, null to validate the whole object
+     * @param validator    - validator to use, null for {@link BeanValidationPatchValidator#defaults()}
+     * @throws IllegalSetupException when no validator is given and Bean Validation or a provider for it is missing
+     * @param <T>
+     */
+    public static <T> void finalValidation(T t, PatchedPaths patchedPaths, PatchValidator validator) {
+
+        if (PatchValidator.NONE == validator)
+            return;
+
+        try {
+
+            final List<ErrorDetail> jsonMergePatchErrorDetails =
+                    (null != validator ? validator : DefaultValidator.INSTANCE).validate(t, patchedPaths);
+            if (!jsonMergePatchErrorDetails.isEmpty())
+                throw new ValidationException(
+                        ErrorMessage.VALIDATION, jsonMergePatchErrorDetails);
+
+        } catch (ValidationException | IllegalSetupException e) {
+            throw e;
+
+        } catch (Exception e) {
+            throw new ValidationException(
+                    ErrorMessage.VALIDATION,
+                    Collections.singletonList(new ErrorDetail("unknown", e.getMessage())));
+
+        }
+    }
+
+    /**
+     * Resolved on first use, so Bean Validation is only loaded, and bootstrapped, when an object is validated.
+     */
+    private static final class DefaultValidator {
+
+        private static final PatchValidator INSTANCE = resolve();
+
+        private static PatchValidator resolve() {
+            if (!isBeanValidationPresent())
+                return unavailable("Bean Validation is not on the classpath");
+            try {
+                return BeanValidationPatchValidator.defaults();
+            } catch (LinkageError | RuntimeException e) {
+                // the api without a provider throws javax.validation.ValidationException
+                return unavailable("No Bean Validation provider is on the classpath");
+            }
+        }
+
+        /**
+         * Fails every validation, so objects are never left unvalidated unless {@link PatchValidator#NONE} is chosen.
+         */
+        private static PatchValidator unavailable(String reason) {
+            return (object, patchedPaths) -> {
+                throw new IllegalSetupException(
+                        ErrorMessage.SETUP,
+                        Collections.singletonList(new ErrorDetail("validator",
+                                reason + ". Add one, or set PatchValidator.NONE through PatchOptions.withValidator")));
+            };
+        }
+
+        private static boolean isBeanValidationPresent() {
+            try {
+                Class.forName("javax.validation.Validation", false, RequestValidator.class.getClassLoader());
+                return true;
+            } catch (ClassNotFoundException e) {
+                return false;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,156 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.core;
+
+public class AggregateBean {
+
+    private NodeBean<String> node0;
+    private NodeBean<String> node1;
+    private NodeBean<String> node2;
+    private NodeBean<String> node3;
+    private NodeBean<String> node4;
+    private NodeBean<String> node5;
+    private NodeBean<String> node6;
+    private NodeBean<String> node7;
+    private NodeBean<String> node8;
+    private NodeBean<String> node9;
+    private FirstNode first;
+
+    public AggregateBean() {
+    }
+
+    /**
+     * Aggregate where every nested node is initialized.
+     */
+    public static AggregateBean full() {
+        AggregateBean bean = new AggregateBean();
+        bean.node0 = new NodeBean<>("node0", new LeafBean<>("node0"));
+        bean.node1 = new NodeBean<>("node1", new LeafBean<>("node1"));
+        bean.node2 = new NodeBean<>("node2", new LeafBean<>("node2"));
+        bean.node3 = new NodeBean<>("node3", new LeafBean<>("node3"));
+        bean.node4 = new NodeBean<>("node4", new LeafBean<>("node4"));
+        bean.node5 = new NodeBean<>("node5", new LeafBean<>("node5"));
+        bean.node6 = new NodeBean<>("node6", new LeafBean<>("node6"));
+        bean.node7 = new NodeBean<>("node7", new LeafBean<>("node7"));
+        bean.node8 = new NodeBean<>("node8", new LeafBean<>("node8"));
+        bean.node9 = new NodeBean<>("node9", new LeafBean<>("node9"));
+        bean.first = new FirstNode("first", new SecondNode("second", new ThirdNode("third")));
+        return bean;
+    }
+
+    public NodeBean<String> getNode0() {
+        return node0;
+    }
+
+    public void setNode0(NodeBean<String> node0) {
+        this.node0 = node0;
+    }
+
+    public NodeBean<String> getNode1() {
+        return node1;
+    }
+
+    public void setNode1(NodeBean<String> node1) {
+        this.node1 = node1;
+    }
+
+    public NodeBean<String> getNode2() {
+        return node2;
+    }
+
+    public void setNode2(NodeBean<String> node2) {
+        this.node2 = node2;
+    }
+
+    public NodeBean<String> getNode3() {
+        return node3;
+    }
+
+    public void setNode3(NodeBean<String> node3) {
+        this.node3 = node3;
+    }
+
+    public NodeBean<String> getNode4() {
+        return node4;
+    }
+
+    public void setNode4(NodeBean<String> node4) {
+        this.node4 = node4;
+    }
+
+    public NodeBean<String> getNode5() {
+        return node5;
+    }
+
+    public void setNode5(NodeBean<String> node5) {
+        this.node5 = node5;
+    }
+
+    public NodeBean<String> getNode6() {
+        return node6;
+    }
+
+    public void setNode6(NodeBean<String> node6) {
+        this.node6 = node6;
+    }
+
+    public NodeBean<String> getNode7() {
+        return node7;
+    }
+
+    public void setNode7(NodeBean<String> node7) {
+        this.node7 = node7;
+    }
+
+    public NodeBean<String> getNode8() {
+        return node8;
+    }
+
+    public void setNode8(NodeBean<String> node8) {
+        this.node8 = node8;
+    }
+
+    public NodeBean<String> getNode9() {
+        return node9;
+    }
+
+    public void setNode9(NodeBean<String> node9) {
+        this.node9 = node9;
+    }
+
+    public FirstNode getFirst() {
+        return first;
+    }
+
+    public void setFirst(FirstNode first) {
+        this.first = first;
+    }
+
+}
@@ -0,0 +1,70 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.core;
+
+import com.hubbledouble.json_merge_patch.processor.PatchApplier;
+
+/**
+ * Same shape as the class json-merge-patch-processor generates, supporting only the package private name field.
+ */
+public final class PatchableBean_PatchApplier implements PatchApplier<PatchableBean> {
+
+    @Override
+    public boolean supports(String field) {
+        switch (field) {
+            case "name":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public Object get(PatchableBean bean, String field) {
+        switch (field) {
+            case "name":
+                return bean.name;
+            default:
+                throw new IllegalArgumentException("Unsupported field " + field);
+        }
+    }
+
+    @Override
+    public void set(PatchableBean bean, String field, Object value) {
+        switch (field) {
+            case "name":
+                bean.name = (String) value;
+                return;
+            default:
+                throw new IllegalArgumentException("Unsupported field " + field);
+        }
+    }
+
+}
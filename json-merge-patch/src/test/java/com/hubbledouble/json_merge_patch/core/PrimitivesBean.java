@@ -0,0 +1,91 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.core;
+
+public class PrimitivesBean {
+
+    private int intNumber;
+    private long longNumber;
+    private float floatNumber;
+    private double doubleNumber;
+    private boolean flag;
+
+    public PrimitivesBean() {
+    }
+
+    public PrimitivesBean(int intNumber, long longNumber, float floatNumber, double doubleNumber, boolean flag) {
+        this.intNumber = intNumber;
+        this.longNumber = longNumber;
+        this.floatNumber = floatNumber;
+        this.doubleNumber = doubleNumber;
+        this.flag = flag;
+    }
+
+    public int getIntNumber() {
+        return intNumber;
+    }
+
+    public void setIntNumber(int intNumber) {
+        this.intNumber = intNumber;
+    }
+
+    public long getLongNumber() {
+        return longNumber;
+    }
+
+    public void setLongNumber(long longNumber) {
+        this.longNumber = longNumber;
+    }
+
+    public float getFloatNumber() {
+        return floatNumber;
+    }
+
+    public void setFloatNumber(float floatNumber) {
+        this.floatNumber = floatNumber;
+    }
+
+    public double getDoubleNumber() {
+        return doubleNumber;
+    }
+
+    public void setDoubleNumber(double doubleNumber) {
+        this.doubleNumber = doubleNumber;
+    }
+
+    public boolean isFlag() {
+        return flag;
+    }
+
+    public void setFlag(boolean flag) {
+        this.flag = flag;
+    }
+
+}
@@ -0,0 +1,141 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.core;
+
+import javax.validation.Constraint;
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+import javax.validation.Payload;
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.List;
+
+@ValidatedBean.OrderedRange
+public class ValidatedBean {
+
+    @NotNull
+    @Size(max = 10)
+    private String name;
+
+    private Integer min;
+    private Integer max;
+
+    @Valid
+    private Part part;
+
+    @Valid
+    private List<Part> parts;
+
+    public ValidatedBean() {
+    }
+
+    public ValidatedBean(String name, Integer min, Integer max, Part part, List<Part> parts) {
+        this.name = name;
+        this.min = min;
+        this.max = max;
+        this.part = part;
+        this.parts = parts;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Integer getMin() {
+        return min;
+    }
+
+    public Integer getMax() {
+        return max;
+    }
+
+    public Part getPart() {
+        return part;
+    }
+
+    public List<Part> getParts() {
+        return parts;
+    }
+
+    public static class Part {
+
+        @Size(max = 5)
+        private String code;
+
+        @Min(0)
+        private Integer count;
+
+        public Part() {
+        }
+
+        public Part(String code, Integer count) {
+            this.code = code;
+            this.count = count;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        public Integer getCount() {
+            return count;
+        }
+
+    }
+
+    @Target(ElementType.TYPE)
+    @Retention(RetentionPolicy.RUNTIME)
+    @Constraint(validatedBy = OrderedRangeValidator.class)
+    public @interface OrderedRange {
+
+        String message() default "min must not exceed max";
+
+        Class<?>[] groups() default {};
+
+        Class<? extends Payload>[] payload() default {};
+
+    }
+
+    public static class OrderedRangeValidator implements ConstraintValidator<OrderedRange, ValidatedBean> {
+
+        @Override
+        public boolean isValid(ValidatedBean bean, ConstraintValidatorContext context) {
+            return null == bean.min || null == bean.max || bean.min <= bean.max;
+        }
+
+    }
+
+}
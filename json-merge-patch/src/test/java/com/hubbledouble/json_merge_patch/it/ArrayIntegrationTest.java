@@ -29,17 +29,24 @@
 
 package com.hubbledouble.json_merge_patch.it;
 
+import com.hubbledouble.json_merge_patch.constant.PatchMode;
 import com.hubbledouble.json_merge_patch.core.ArrayBean;
 import com.hubbledouble.json_merge_patch.exception.JsonMergePatchException;
 import com.hubbledouble.json_merge_patch.exception.ValidationException;
 import com.hubbledouble.json_merge_patch.processor.HTTPMethodProcessor;
+import com.hubbledouble.json_merge_patch.processor.PatchOptions;
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 
 public class ArrayIntegrationTest {
 
@@ -83,6 +90,59 @@ public class ArrayIntegrationTest {
         Assert.assertNull(bean.getElements());
     }
 
+    @Test
+    public void patch_ArrayList_ExpectUpdatedInPlace() {
+        for (PatchOptions options : new PatchOptions[]{PatchOptions.defaults(), PatchOptions.defaults().withMode(PatchMode.STREAMING)}) {
+            String unchanged = new String("one");
+            List<String> elements = new ArrayList<>(Arrays.asList(unchanged, "two"));
+            ArrayBean<String> bean = new ArrayBean<>(elements);
+
+            HTTPMethodProcessor.patch("{ \"elements\" : [\"one\", \"changed\", \"three\"] }", bean, options);
+            Assert.assertSame(elements, bean.getElements());
+            Assert.assertSame(unchanged, elements.get(0));
+            Assert.assertEquals(Arrays.asList("one", "changed", "three"), elements);
+
+            HTTPMethodProcessor.patch("{ \"elements\" : [\"one\"] }", bean, options);
+            Assert.assertSame(elements, bean.getElements());
+            Assert.assertSame(unchanged, elements.get(0));
+            Assert.assertEquals(Collections.singletonList("one"), elements);
+        }
+    }
+
+    @Test
+    public void patch_PlainSet_ExpectOnlyDifferencesApplied() {
+        String unchanged = new String("one");
+        Set<String> object = new HashSet<>(Arrays.asList(unchanged, "two"));
+        HTTPMethodProcessor.patch("[\"one\", \"three\"]", object);
+        Assert.assertEquals(new HashSet<>(Arrays.asList("one", "three")), object);
+        Assert.assertTrue(object.stream().anyMatch(element -> element == unchanged));
+    }
+
+    @Test
+    public void patch_LinkedHashSet_ExpectRequestOrderKept() {
+        Set<String> object = new LinkedHashSet<>(Arrays.asList("one", "two", "three"));
+        HTTPMethodProcessor.patch("[\"three\", \"one\", \"four\"]", object);
+        Assert.assertEquals(Arrays.asList("three", "one", "four"), new ArrayList<>(object));
+    }
+
+    @Test
+    public void patch_LinkedHashSetSameOrder_ExpectElementsKept() {
+        String unchanged = new String("one");
+        Set<String> object = new LinkedHashSet<>(Arrays.asList(unchanged, "two"));
+        HTTPMethodProcessor.patch("[\"one\", \"two\"]", object);
+        Assert.assertEquals(Arrays.asList("one", "two"), new ArrayList<>(object));
+        Assert.assertSame(unchanged, object.iterator().next());
+    }
+
+    @Test
+    public void patch_SortedSet_ExpectSortedAndOnlyDifferencesApplied() {
+        String unchanged = new String("one");
+        Set<String> object = new TreeSet<>(Arrays.asList(unchanged, "two"));
+        HTTPMethodProcessor.patch("[\"three\", \"one\"]", object);
+        Assert.assertEquals(Arrays.asList("one", "three"), new ArrayList<>(object));
+        Assert.assertSame(unchanged, object.iterator().next());
+    }
+
     @Test
     public void patch_PlainArray() {
         List<String> object = new ArrayList<>();
@@ -0,0 +1,124 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.it;
+
+import com.hubbledouble.json_merge_patch.constant.PatchMode;
+import com.hubbledouble.json_merge_patch.core.*;
+import com.hubbledouble.json_merge_patch.exception.JsonMapperException;
+import com.hubbledouble.json_merge_patch.exception.ValidationException;
+import com.hubbledouble.json_merge_patch.processor.HTTPMethodProcessor;
+import com.hubbledouble.json_merge_patch.processor.PatchOptions;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class BulkIntegrationTest {
+
+    private static final PatchOptions STREAMING = PatchOptions.defaults().withMode(PatchMode.STREAMING);
+
+    @Test
+    public void patchAll_TwoEntities_ExpectBothPatched() {
+        Map<String, NodeBean<String>> entities = nodes("one", "two");
+        String request = "{ \"one\" : { \"element\" : \"updated\" }, \"two\" : { \"leaf\" : { \"element\" : \"updated\" } } }";
+        Assert.assertEquals(2, HTTPMethodProcessor.patchAll(request, entities::get));
+        Assert.assertEquals("updated", entities.get("one").getElement());
+        Assert.assertEquals("one", entities.get("one").getLeaf().getElement());
+        Assert.assertEquals("two", entities.get("two").getElement());
+        Assert.assertEquals("updated", entities.get("two").getLeaf().getElement());
+    }
+
+    @Test
+    public void patchAll_StreamingMode_ExpectBothPatched() {
+        Map<String, NodeBean<String>> entities = nodes("one", "two");
+        String request = "{ \"one\" : { \"element\" : \"updated\" }, \"two\" : { \"leaf\" : { \"element\" : \"updated\" } } }";
+        Assert.assertEquals(2, HTTPMethodProcessor.patchAll(
+                new ByteArrayInputStream(request.getBytes(StandardCharsets.UTF_8)), entities::get, STREAMING));
+        Assert.assertEquals("updated", entities.get("one").getElement());
+        Assert.assertEquals("updated", entities.get("two").getLeaf().getElement());
+    }
+
+    @Test
+    public void patchAll_UnknownId_ExpectSkipped() {
+        Map<String, NodeBean<String>> entities = nodes("one");
+        String request = "{ \"missing\" : { \"element\" : \"x\", \"leaf\" : { \"element\" : \"x\" } }, \"one\" : { \"element\" : \"updated\" } }";
+        Assert.assertEquals(1, HTTPMethodProcessor.patchAll(request, entities::get));
+        Assert.assertEquals("updated", entities.get("one").getElement());
+    }
+
+    @Test
+    public void patchAll_LookupOrder_ExpectDocumentOrder() {
+        List<String> ids = new ArrayList<>();
+        Map<String, NodeBean<String>> entities = nodes("one", "two", "three");
+        HTTPMethodProcessor.patchAll("{ \"two\" : {}, \"three\" : {}, \"one\" : {} }", id -> {
+            ids.add(id);
+            return entities.get(id);
+        });
+        Assert.assertEquals(Arrays.asList("two", "three", "one"), ids);
+    }
+
+    @Test
+    public void patchAll_SecondEntityInvalid_ExpectFirstPatchedAndValidationException() {
+        Map<String, StringBean> entities = new HashMap<>();
+        entities.put("one", new StringBean("one"));
+        entities.put("two", new StringBean("two"));
+        String request = "{ \"one\" : { \"name\" : \"updated\" }, \"two\" : { \"name\" : \"far too long a name\" } }";
+        try {
+            HTTPMethodProcessor.patchAll(request, entities::get);
+            Assert.fail();
+        } catch (ValidationException e) {
+            Assert.assertEquals("updated", entities.get("one").getName());
+        }
+    }
+
+    @Test(expected = JsonMapperException.class)
+    public void patchAll_ArrayRequest_ExpectJsonMapperException() {
+        HTTPMethodProcessor.patchAll("[ { \"element\" : \"x\" } ]", nodes("one")::get);
+    }
+
+    @Test(expected = JsonMapperException.class)
+    public void patchAll_MalformedEntity_ExpectJsonMapperException() {
+        HTTPMethodProcessor.patchAll("{ \"one\" : { \"element\" : } }", nodes("one")::get);
+    }
+
+    private static Map<String, NodeBean<String>> nodes(String... ids) {
+        Map<String, NodeBean<String>> nodes = new HashMap<>();
+        for (String id : ids)
+            nodes.put(id, new NodeBean<>(id, new LeafBean<>(id)));
+        return nodes;
+    }
+
+}
@@ -0,0 +1,171 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.it;
+
+import com.hubbledouble.json_merge_patch.constant.PatchMode;
+import com.hubbledouble.json_merge_patch.core.AttributesBean;
+import com.hubbledouble.json_merge_patch.core.FirstNode;
+import com.hubbledouble.json_merge_patch.core.SecondNode;
+import com.hubbledouble.json_merge_patch.core.ThirdNode;
+import com.hubbledouble.json_merge_patch.core.ValidatedBean;
+import com.hubbledouble.json_merge_patch.exception.JsonMapperException;
+import com.hubbledouble.json_merge_patch.exception.ValidationException;
+import com.hubbledouble.json_merge_patch.processor.HTTPMethodProcessor;
+import com.hubbledouble.json_merge_patch.processor.PatchOptions;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class CopyOnWriteIntegrationTest {
+
+    @Test
+    public void patchCopy_NestedChange_ExpectPathCopiedAndRestShared() {
+        ThirdNode thirdNode = new ThirdNode("third");
+        SecondNode secondNode = new SecondNode("second", thirdNode);
+        FirstNode original = new FirstNode("first", secondNode);
+
+        FirstNode patched = HTTPMethodProcessor.patchCopy("{ \"secondNode\" : { \"name\" : \"changed\" } }", original);
+
+        Assert.assertEquals("second", secondNode.getName());
+        Assert.assertNotSame(original, patched);
+        Assert.assertNotSame(secondNode, patched.getSecondNode());
+        Assert.assertEquals("changed", patched.getSecondNode().getName());
+        Assert.assertEquals("first", patched.getName());
+        Assert.assertSame(thirdNode, patched.getSecondNode().getThirdNode());
+    }
+
+    @Test
+    public void patchCopy_Maps_ExpectOriginalMapsUntouched() {
+        Map<String, Object> address = new HashMap<>();
+        address.put("city", "Monterrey");
+        Map<String, Object> other = new HashMap<>();
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("address", address);
+        attributes.put("other", other);
+        attributes.put("color", "red");
+        AttributesBean original = new AttributesBean(attributes, null, null);
+
+        AttributesBean patched = HTTPMethodProcessor.patchCopy(
+                "{ \"attributes\" : { \"address\" : { \"zip\" : \"64000\" }, \"color\" : null } }", original);
+
+        Assert.assertEquals(3, attributes.size());
+        Assert.assertEquals(Collections.singletonMap("city", "Monterrey"), address);
+        Map<String, Object> patchedAddress = (Map<String, Object>) patched.getAttributes().get("address");
+        Assert.assertEquals("Monterrey", patchedAddress.get("city"));
+        Assert.assertEquals("64000", patchedAddress.get("zip"));
+        Assert.assertFalse(patched.getAttributes().containsKey("color"));
+        Assert.assertSame(other, patched.getAttributes().get("other"));
+    }
+
+    @Test
+    public void patchCopy_Collections_ExpectNewCollection() {
+        List<ValidatedBean.Part> parts = Arrays.asList(new ValidatedBean.Part("one", 1));
+        ValidatedBean original = new ValidatedBean("name", 1, 2, null, parts);
+        ValidatedBean patched = HTTPMethodProcessor.patchCopy("{ \"parts\" : [ { \"code\" : \"two\", \"count\" : 2 } ] }", original);
+        Assert.assertSame(parts, original.getParts());
+        Assert.assertEquals("one", parts.get(0).getCode());
+        Assert.assertEquals("two", patched.getParts().get(0).getCode());
+    }
+
+    @Test
+    public void patchCopy_InvalidResult_ExpectOriginalUntouched() {
+        ValidatedBean original = new ValidatedBean("name", 1, 2, new ValidatedBean.Part("code", 1), null);
+        try {
+            HTTPMethodProcessor.patchCopy("{ \"name\" : \"far too long a name\", \"part\" : { \"count\" : 5 } }", original);
+            Assert.fail();
+        } catch (ValidationException e) {
+            Assert.assertEquals("name", original.getName());
+            Assert.assertEquals(Integer.valueOf(1), original.getPart().getCount());
+        }
+    }
+
+    @Test
+    public void patchCopy_IncrementalValidation_ExpectTouchedPathsValidated() {
+        ValidatedBean original = new ValidatedBean("name", 1, 2, new ValidatedBean.Part("code", 1), null);
+        PatchOptions options = PatchOptions.defaults().withIncrementalValidation(true);
+        Assert.assertEquals("other", HTTPMethodProcessor.patchCopy("{ \"name\" : \"other\" }", original, options).getName());
+        try {
+            HTTPMethodProcessor.patchCopy("{ \"min\" : 3 }", original, options);
+            Assert.fail();
+        } catch (ValidationException e) {
+            Assert.assertEquals(Integer.valueOf(1), original.getMin());
+        }
+    }
+
+    @Test(expected = JsonMapperException.class)
+    public void patchCopy_UnknownField_ThrowJsonMapperException() {
+        HTTPMethodProcessor.patchCopy("{ \"unknown\" : 1 }", new ThirdNode("third"));
+    }
+
+    @Test
+    public void patchCopy_MapRoot_ExpectCopy() {
+        Map<String, String> original = new HashMap<>();
+        original.put("one", "1");
+        Map<String, String> patched = HTTPMethodProcessor.patchCopy("{ \"one\" : null, \"two\" : \"2\" }", original,
+                PatchOptions.defaults().withMode(PatchMode.STREAMING));
+        Assert.assertEquals(Collections.singletonMap("one", "1"), original);
+        Assert.assertEquals(Collections.singletonMap("two", "2"), patched);
+    }
+
+    @Test
+    public void patchAtomically_ConcurrentPatches_ExpectNoneLost() throws InterruptedException {
+        AtomicReference<AttributesBean> reference = new AtomicReference<>(new AttributesBean(new HashMap<>(), null, null));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 200; i++) {
+            String request = "{ \"attributes\" : { \"key" + i + "\" : " + i + " } }";
+            executor.execute(() -> HTTPMethodProcessor.patchAtomically(request, reference));
+        }
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        Assert.assertEquals(200, reference.get().getAttributes().size());
+    }
+
+    @Test
+    public void patchAtomically_InvalidPatch_ExpectReferenceUntouched() {
+        ValidatedBean original = new ValidatedBean("name", 1, 2, null, null);
+        AtomicReference<ValidatedBean> reference = new AtomicReference<>(original);
+        try {
+            HTTPMethodProcessor.patchAtomically("{ \"min\" : 3 }", reference);
+            Assert.fail();
+        } catch (ValidationException e) {
+            Assert.assertSame(original, reference.get());
+        }
+    }
+
+}
@@ -0,0 +1,139 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.it;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.hubbledouble.json_merge_patch.constant.PatchMode;
+import com.hubbledouble.json_merge_patch.core.FirstNode;
+import com.hubbledouble.json_merge_patch.core.SecondNode;
+import com.hubbledouble.json_merge_patch.core.ThirdNode;
+import com.hubbledouble.json_merge_patch.exception.JsonMapperException;
+import com.hubbledouble.json_merge_patch.mapper.JSONMapper;
+import com.hubbledouble.json_merge_patch.processor.DocumentProcessor;
+import com.hubbledouble.json_merge_patch.processor.HTTPMethodProcessor;
+import com.hubbledouble.json_merge_patch.processor.PatchOptions;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DocumentIntegrationTest {
+
+    @Test
+    public void patch_RfcExamples_ExpectRfcResults() {
+        assertPatched("{\"a\":\"b\"}", "{\"a\":\"c\"}", "{\"a\":\"c\"}");
+        assertPatched("{\"a\":\"b\"}", "{\"b\":\"c\"}", "{\"a\":\"b\",\"b\":\"c\"}");
+        assertPatched("{\"a\":\"b\"}", "{\"a\":null}", "{}");
+        assertPatched("{\"a\":\"b\",\"b\":\"c\"}", "{\"a\":null}", "{\"b\":\"c\"}");
+        assertPatched("{\"a\":[\"b\"]}", "{\"a\":\"c\"}", "{\"a\":\"c\"}");
+        assertPatched("{\"a\":\"c\"}", "{\"a\":[\"b\"]}", "{\"a\":[\"b\"]}");
+        assertPatched("{\"a\":{\"b\":\"c\"}}", "{\"a\":{\"b\":\"d\",\"c\":null}}", "{\"a\":{\"b\":\"d\"}}");
+        assertPatched("{\"a\":[{\"b\":\"c\"}]}", "{\"a\":[1]}", "{\"a\":[1]}");
+        assertPatched("{\"e\":null}", "{\"a\":1}", "{\"e\":null,\"a\":1}");
+        assertPatched("{}", "{\"a\":{\"bb\":{\"ccc\":null}}}", "{\"a\":{\"bb\":{}}}");
+    }
+
+    @Test
+    public void patch_NestedObject_ExpectMergedInPlace() {
+        ObjectNode document = (ObjectNode) JSONMapper.jsonStringToJsonNode("{\"a\":{\"b\":1,\"c\":2}}");
+        JsonNode nested = document.get("a");
+        DocumentProcessor.patch("{\"a\":{\"b\":3}}", document);
+        Assert.assertSame(nested, document.get("a"));
+        Assert.assertEquals(JSONMapper.jsonStringToJsonNode("{\"b\":3,\"c\":2}"), nested);
+    }
+
+    @Test
+    public void patch_JsonNodeRequest_ExpectRequestNotShared() {
+        ObjectNode document = (ObjectNode) JSONMapper.jsonStringToJsonNode("{}");
+        JsonNode request = JSONMapper.jsonStringToJsonNode("{\"a\":[1]}");
+        DocumentProcessor.patch(request, document);
+        ((ArrayNode) document.get("a")).add(2);
+        Assert.assertEquals(JSONMapper.jsonStringToJsonNode("{\"a\":[1]}"), request);
+    }
+
+    @Test(expected = JsonMapperException.class)
+    public void patch_NotObjectRequest_ThrowJsonMapperException() {
+        DocumentProcessor.patch("[1]", (ObjectNode) JSONMapper.jsonStringToJsonNode("{}"));
+    }
+
+    @Test
+    public void patch_RequestOverMaxFields_ThrowJsonMapperException() {
+        ObjectNode document = (ObjectNode) JSONMapper.jsonStringToJsonNode("{}");
+        try {
+            DocumentProcessor.patch("{\"a\":1,\"b\":{\"c\":2}}", document, PatchOptions.defaults().withMaxFields(2));
+            Assert.fail();
+        } catch (JsonMapperException e) {
+            Assert.assertEquals("Request exceeds 2 properties", e.getErrorDetails().get(0).getMessage());
+        }
+    }
+
+    @Test
+    public void patch_RequestOverLimits_ExpectDocumentUntouched() {
+        ObjectNode document = (ObjectNode) JSONMapper.jsonStringToJsonNode("{\"a\":0,\"b\":{\"c\":0}}");
+        for (PatchOptions options : new PatchOptions[]{
+                PatchOptions.defaults().withMaxFields(3), PatchOptions.defaults().withMaxDepth(1)})
+            try {
+                DocumentProcessor.patch("{\"a\":1,\"b\":{\"c\":1,\"d\":{\"e\":1}}}", document, options);
+                Assert.fail();
+            } catch (JsonMapperException e) {
+                Assert.assertEquals(JSONMapper.jsonStringToJsonNode("{\"a\":0,\"b\":{\"c\":0}}"), document);
+            }
+    }
+
+    @Test(expected = JsonMapperException.class)
+    public void patch_DocumentOverMaxDepth_ThrowJsonMapperException() {
+        DocumentProcessor.patch("{\"a\":{\"b\":{\"c\":1}}}", (ObjectNode) JSONMapper.jsonStringToJsonNode("{}"),
+                PatchOptions.defaults().withMaxDepth(1));
+    }
+
+    @Test
+    public void patch_BeanOverMaxDepth_ThrowJsonMapperException() {
+        String request = "{\"secondNode\":{\"thirdNode\":{\"name\":\"changed\"}}}";
+        PatchOptions options = PatchOptions.defaults().withMaxDepth(1);
+        for (PatchOptions mode : new PatchOptions[]{options, options.withMode(PatchMode.STREAMING)})
+            try {
+                HTTPMethodProcessor.patch(request, new FirstNode("first", new SecondNode("second", new ThirdNode("third"))), mode);
+                Assert.fail();
+            } catch (JsonMapperException e) {
+                Assert.assertEquals("Request exceeds a depth of 1", e.getErrorDetails().get(0).getMessage());
+            }
+
+        FirstNode firstNode = new FirstNode("first", new SecondNode("second", new ThirdNode("third")));
+        HTTPMethodProcessor.patch(request, firstNode, PatchOptions.defaults().withMaxDepth(2));
+        Assert.assertEquals("changed", firstNode.getSecondNode().getThirdNode().getName());
+    }
+
+    private static void assertPatched(String document, String request, String expected) {
+        ObjectNode node = (ObjectNode) JSONMapper.jsonStringToJsonNode(document);
+        DocumentProcessor.patch(request, node);
+        Assert.assertEquals(JSONMapper.jsonStringToJsonNode(expected), node);
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.it;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.hubbledouble.json_merge_patch.exception.JsonMapperException;
+import com.hubbledouble.json_merge_patch.mapper.JSONMapper;
+import com.hubbledouble.json_merge_patch.processor.DocumentProcessor;
+import com.hubbledouble.json_merge_patch.processor.DocumentStreamProcessor;
+import com.hubbledouble.json_merge_patch.processor.PatchOptions;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+public class DocumentStreamIntegrationTest {
+
+    @Test
+    public void patch_RfcExamples_ExpectRfcResults() {
+        assertPatched("{\"a\":\"b\"}", "{\"a\":\"c\"}", "{\"a\":\"c\"}");
+        assertPatched("{\"a\":\"b\"}", "{\"b\":\"c\"}", "{\"a\":\"b\",\"b\":\"c\"}");
+        assertPatched("{\"a\":\"b\"}", "{\"a\":null}", "{}");
+        assertPatched("{\"a\":\"b\",\"b\":\"c\"}", "{\"a\":null}", "{\"b\":\"c\"}");
+        assertPatched("{\"a\":[\"b\"]}", "{\"a\":\"c\"}", "{\"a\":\"c\"}");
+        assertPatched("{\"a\":\"c\"}", "{\"a\":[\"b\"]}", "{\"a\":[\"b\"]}");
+        assertPatched("{\"a\":{\"b\":\"c\"}}", "{\"a\":{\"b\":\"d\",\"c\":null}}", "{\"a\":{\"b\":\"d\"}}");
+        assertPatched("{\"a\":[{\"b\":\"c\"}]}", "{\"a\":[1]}", "{\"a\":[1]}");
+        assertPatched("[\"a\",\"b\"]", "[\"c\",\"d\"]", "[\"c\",\"d\"]");
+        assertPatched("{\"a\":\"b\"}", "[\"c\"]", "[\"c\"]");
+        assertPatched("{\"a\":\"foo\"}", "null", "null");
+        assertPatched("{\"a\":\"foo\"}", "\"bar\"", "\"bar\"");
+        assertPatched("{\"e\":null}", "{\"a\":1}", "{\"e\":null,\"a\":1}");
+        assertPatched("[1,2]", "{\"a\":\"b\",\"c\":null}", "{\"a\":\"b\"}");
+        assertPatched("{}", "{\"a\":{\"bb\":{\"ccc\":null}}}", "{\"a\":{\"bb\":{}}}");
+    }
+
+    @Test
+    public void patch_LargeDocument_ExpectSameResultAsInPlacePatch() {
+        StringBuilder document = new StringBuilder("{\"items\":{");
+        for (int i = 0; i < 10000; i++)
+            document.append(i > 0 ? "," : "").append("\"item").append(i).append("\":{\"name\":\"").append(i).append("\",\"tags\":[1,2]}");
+        document.append("},\"total\":10000}");
+        String request = "{\"items\":{\"item42\":{\"name\":\"changed\",\"tags\":null},\"item7\":null},\"total\":9999}";
+
+        ObjectNode expected = (ObjectNode) JSONMapper.jsonStringToJsonNode(document.toString());
+        DocumentProcessor.patch(request, expected);
+        Assert.assertEquals(expected, JSONMapper.jsonStringToJsonNode(patch(document.toString(), request)));
+    }
+
+    @Test
+    public void patch_Stream_ExpectMemberOrderKept() {
+        Assert.assertEquals(
+                "{\"a\":1,\"b\":{\"c\":3,\"d\":4},\"e\":5,\"f\":6}",
+                patch("{\"a\":1,\"b\":{\"c\":2,\"d\":4},\"e\":5}", "{\"f\":6,\"b\":{\"c\":3}}"));
+    }
+
+    @Test
+    public void patch_Parser_ExpectParserLeftAtEndOfDocument() throws IOException {
+        try (JsonParser parser = JSONMapper.jsonStringToParser("[{\"a\":1},{\"a\":2}]")) {
+            StringWriter writer = new StringWriter();
+            try (JsonGenerator generator = JSONMapper.defaults().getObjectMapper().getFactory().createGenerator(writer)) {
+                parser.nextToken();
+                generator.writeStartArray();
+                while (parser.nextToken().isStructStart())
+                    DocumentStreamProcessor.patch("{\"b\":true}", parser, generator, PatchOptions.defaults());
+                generator.writeEndArray();
+            }
+            Assert.assertEquals("[{\"a\":1,\"b\":true},{\"a\":2,\"b\":true}]", writer.toString());
+        }
+    }
+
+    @Test
+    public void patch_MalformedDocument_ThrowJsonMapperExceptionAtLocation() {
+        try {
+            patch("{\"a\":{\"b\":}}", "{\"c\":1}");
+            Assert.fail();
+        } catch (JsonMapperException e) {
+            Assert.assertEquals("/a/b", e.getErrorDetails().get(0).getLocation());
+        }
+    }
+
+    @Test(expected = JsonMapperException.class)
+    public void patch_RequestOverMaxDepth_ThrowJsonMapperException() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DocumentStreamProcessor.patch("{\"a\":{\"b\":{}}}", stream("{\"a\":{\"b\":{}}}"), out, PatchOptions.defaults().withMaxDepth(1));
+    }
+
+    private static void assertPatched(String document, String request, String expected) {
+        JsonNode result = JSONMapper.jsonStringToJsonNode(patch(document, request));
+        Assert.assertEquals(JSONMapper.jsonStringToJsonNode(expected), result);
+    }
+
+    private static String patch(String document, String request) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DocumentStreamProcessor.patch(request, stream(document), out);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static ByteArrayInputStream stream(String document) {
+        return new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
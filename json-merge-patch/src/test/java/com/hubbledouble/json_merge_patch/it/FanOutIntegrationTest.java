@@ -0,0 +1,159 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.it;
+
+import com.hubbledouble.json_merge_patch.constant.PatchMode;
+import com.hubbledouble.json_merge_patch.core.*;
+import com.hubbledouble.json_merge_patch.exception.JsonMapperException;
+import com.hubbledouble.json_merge_patch.exception.ValidationException;
+import com.hubbledouble.json_merge_patch.processor.HTTPMethodProcessor;
+import com.hubbledouble.json_merge_patch.processor.PatchFailure;
+import com.hubbledouble.json_merge_patch.processor.PatchOptions;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class FanOutIntegrationTest {
+
+    @Test
+    public void patchEach_ManyObjects_ExpectAllPatched() {
+        List<NodeBean<String>> nodes = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++)
+            nodes.add(new NodeBean<>("node" + i, new LeafBean<>("leaf" + i)));
+
+        List<PatchFailure<NodeBean<String>>> failures =
+                HTTPMethodProcessor.patchEach("{ \"leaf\" : { \"element\" : \"updated\" } }", nodes);
+
+        Assert.assertTrue(failures.isEmpty());
+        for (int i = 0; i < nodes.size(); i++) {
+            Assert.assertEquals("node" + i, nodes.get(i).getElement());
+            Assert.assertEquals("updated", nodes.get(i).getLeaf().getElement());
+        }
+    }
+
+    @Test
+    public void patchEach_ExecutorAndStreamingMode_ExpectAllPatched() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<NodeBean<String>> nodes = new LinkedList<>();
+            for (int i = 0; i < 100; i++)
+                nodes.add(new NodeBean<>("node" + i, null));
+
+            List<PatchFailure<NodeBean<String>>> failures = HTTPMethodProcessor.patchEach(
+                    "{ \"element\" : \"updated\" }", nodes, executor, PatchOptions.defaults().withMode(PatchMode.STREAMING));
+
+            Assert.assertTrue(failures.isEmpty());
+            nodes.forEach(node -> Assert.assertEquals("updated", node.getElement()));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void patchEach_SomeObjectsFailing_ExpectFailuresByIndexAndOthersPatched() {
+        StringBean first = new StringBean("first");
+        StringBean last = new StringBean("last");
+        List<Object> objects = Arrays.asList(first, null, new NumbersBean(), last);
+
+        List<PatchFailure<Object>> failures = HTTPMethodProcessor.patchEach("{ \"name\" : \"updated\" }", objects);
+
+        Assert.assertEquals(2, failures.size());
+        Assert.assertEquals(1, failures.get(0).getIndex());
+        Assert.assertNull(failures.get(0).getObject());
+        Assert.assertTrue(failures.get(0).getException() instanceof ValidationException);
+        Assert.assertEquals(2, failures.get(1).getIndex());
+        Assert.assertTrue(failures.get(1).getException() instanceof JsonMapperException);
+        Assert.assertEquals("updated", first.getName());
+        Assert.assertEquals("updated", last.getName());
+    }
+
+    @Test
+    public void patchEach_ArrayField_ExpectDistinctListPerObject() {
+        List<ArrayBean<String>> beans = Arrays.asList(new ArrayBean<>(), new ArrayBean<>());
+        HTTPMethodProcessor.patchEach("{ \"elements\" : [\"one\", \"two\"] }", beans);
+        Assert.assertEquals(Arrays.asList("one", "two"), beans.get(0).getElements());
+        Assert.assertNotSame(beans.get(0).getElements(), beans.get(1).getElements());
+    }
+
+    @Test
+    public void patchEach_EmptyCollection_ExpectNoFailures() {
+        Assert.assertTrue(HTTPMethodProcessor.patchEach("{}", Collections.emptyList()).isEmpty());
+    }
+
+    @Test(expected = JsonMapperException.class)
+    public void patchEach_MalformedRequest_ExpectJsonMapperException() {
+        HTTPMethodProcessor.patchEach("{ \"name\" : ", Collections.singletonList(new StringBean("one")));
+    }
+
+    @Test
+    public void patchEach_RandomAccessCollectionNotList_ExpectAllPatched() {
+        List<NodeBean<String>> nodes = new ArrayList<>();
+        for (int i = 0; i < 100; i++)
+            nodes.add(new NodeBean<>("node" + i, null));
+
+        List<PatchFailure<NodeBean<String>>> failures =
+                HTTPMethodProcessor.patchEach("{ \"element\" : \"updated\" }", new RandomAccessCollection<>(nodes));
+
+        Assert.assertTrue(failures.isEmpty());
+        nodes.forEach(node -> Assert.assertEquals("updated", node.getElement()));
+    }
+
+    private static final class RandomAccessCollection<E> extends AbstractCollection<E> implements RandomAccess {
+
+        private final Collection<E> elements;
+
+        private RandomAccessCollection(Collection<E> elements) {
+            this.elements = elements;
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return elements.iterator();
+        }
+
+        @Override
+        public int size() {
+            return elements.size();
+        }
+
+    }
+
+}
@@ -0,0 +1,124 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.it;
+
+import com.hubbledouble.json_merge_patch.constant.PatchMode;
+import com.hubbledouble.json_merge_patch.core.ValidatedBean;
+import com.hubbledouble.json_merge_patch.exception.ErrorDetail;
+import com.hubbledouble.json_merge_patch.exception.ValidationException;
+import com.hubbledouble.json_merge_patch.processor.HTTPMethodProcessor;
+import com.hubbledouble.json_merge_patch.processor.PatchOptions;
+import com.hubbledouble.json_merge_patch.validator.RequestValidator;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class IncrementalValidationIntegrationTest {
+
+    private static final PatchOptions INCREMENTAL = PatchOptions.defaults().withIncrementalValidation(true);
+
+    @Test
+    public void patch_TouchedPropertyInvalid_ExpectSameErrorsAsFullValidation() {
+        ValidatedBean bean = valid();
+        List<String> incremental = errors(() -> HTTPMethodProcessor.patch("{ \"name\" : \"far too long a name\" }", bean, INCREMENTAL));
+        List<String> full = errors(() -> RequestValidator.finalValidation(bean));
+        Assert.assertEquals(Collections.singletonList("name"), incremental);
+        Assert.assertEquals(full, incremental);
+    }
+
+    @Test
+    public void patch_UntouchedCascadedPropertyInvalid_ExpectSkipped() {
+        ValidatedBean bean = new ValidatedBean("name", 1, 2, new ValidatedBean.Part("code", 1),
+                Collections.singletonList(new ValidatedBean.Part("far too long", -1)));
+        HTTPMethodProcessor.patch("{ \"name\" : \"updated\", \"part\" : { \"count\" : 2 } }", bean, INCREMENTAL);
+        Assert.assertEquals("updated", bean.getName());
+        Assert.assertEquals(2, errors(() -> RequestValidator.finalValidation(bean)).size());
+    }
+
+    @Test
+    public void patch_UntouchedPropertyOfMergedObjectInvalid_ExpectSkipped() {
+        ValidatedBean bean = new ValidatedBean("name", 1, 2, new ValidatedBean.Part("far too long", 1), null);
+        HTTPMethodProcessor.patch("{ \"part\" : { \"count\" : 2 } }", bean, INCREMENTAL);
+        Assert.assertEquals(Integer.valueOf(2), bean.getPart().getCount());
+    }
+
+    @Test
+    public void patch_MergedPropertyInvalid_ExpectNestedLocation() {
+        List<String> errors = errors(() -> HTTPMethodProcessor.patch("{ \"part\" : { \"count\" : -1 } }", valid(), INCREMENTAL));
+        Assert.assertEquals(Collections.singletonList("part.count"), errors);
+    }
+
+    @Test
+    public void patch_ReplacedObjectInvalid_ExpectWholeValueValidated() {
+        ValidatedBean bean = new ValidatedBean("name", 1, 2, null, null);
+        List<String> errors = errors(() -> HTTPMethodProcessor.patch("{ \"part\" : { \"code\" : \"far too long\", \"count\" : -1 } }", bean, INCREMENTAL));
+        Collections.sort(errors);
+        Assert.assertEquals(Arrays.asList("part.code", "part.count"), errors);
+    }
+
+    @Test
+    public void patch_ReplacedListInvalid_ExpectElementsValidated() {
+        List<String> errors = errors(() -> HTTPMethodProcessor.patch("{ \"parts\" : [ { \"count\" : -1 } ] }", valid(), INCREMENTAL));
+        Assert.assertEquals(Collections.singletonList("parts[0].count"), errors);
+    }
+
+    @Test
+    public void patch_ClassLevelConstraintBroken_ExpectValidated() {
+        List<String> errors = errors(() -> HTTPMethodProcessor.patch("{ \"min\" : 5 }", valid(), INCREMENTAL));
+        Assert.assertEquals(Collections.singletonList(""), errors);
+    }
+
+    @Test
+    public void patch_StreamingModeMergedPropertyInvalid_ExpectNestedLocation() {
+        List<String> errors = errors(() -> HTTPMethodProcessor.patch(
+                "{ \"part\" : { \"code\" : \"far too long\" } }", valid(), INCREMENTAL.withMode(PatchMode.STREAMING)));
+        Assert.assertEquals(Collections.singletonList("part.code"), errors);
+    }
+
+    private static ValidatedBean valid() {
+        return new ValidatedBean("name", 1, 2, new ValidatedBean.Part("code", 1), new ArrayList<>());
+    }
+
+    private static List<String> errors(Runnable patch) {
+        List<String> locations = new ArrayList<>();
+        try {
+            patch.run();
+        } catch (ValidationException e) {
+            for (ErrorDetail detail : e.getErrorDetails())
+                locations.add(detail.getLocation());
+        }
+        return locations;
+    }
+
+}
@@ -0,0 +1,267 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.it;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.TypeBindings;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.databind.type.TypeModifier;
+import com.hubbledouble.json_merge_patch.constant.PatchMode;
+import com.hubbledouble.json_merge_patch.core.*;
+import com.hubbledouble.json_merge_patch.exception.JsonMapperException;
+import com.hubbledouble.json_merge_patch.exception.JsonMergePatchException;
+import com.hubbledouble.json_merge_patch.mapper.JSONMapper;
+import com.hubbledouble.json_merge_patch.processor.HTTPMethodProcessor;
+import com.hubbledouble.json_merge_patch.processor.PatchCache;
+import com.hubbledouble.json_merge_patch.processor.PatchOptions;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+public class InputIntegrationTest {
+
+    private static final String REQUEST = "{ \"name\" : \"first\", \"secondNode\" : { \"name\" : \"second\" } }";
+
+    private static final PatchOptions STREAMING = PatchOptions.defaults().withMode(PatchMode.STREAMING);
+
+    private static final JSONMapper SINGLE_VALUE_AS_ARRAY =
+            JSONMapper.of(new ObjectMapper().enable(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY));
+
+    @Test
+    public void patch_ConfiguredMapper_ExpectMapperFeaturesApplied() {
+        PatchOptions options = PatchOptions.defaults().withMapper(SINGLE_VALUE_AS_ARRAY);
+        ArrayBean<String> arrayBean = new ArrayBean<>();
+        HTTPMethodProcessor.patch("{ \"elements\" : \"one\" }", arrayBean, options);
+        Assert.assertEquals(Collections.singletonList("one"), arrayBean.getElements());
+
+        arrayBean = new ArrayBean<>();
+        HTTPMethodProcessor.patch("{ \"elements\" : \"one\" }", arrayBean, options.withMode(PatchMode.STREAMING));
+        Assert.assertEquals(Collections.singletonList("one"), arrayBean.getElements());
+    }
+
+    @Test
+    public void patch_UnknownPropertiesAllowed_ExpectSkippedInEveryMode() {
+        PatchOptions options = PatchOptions.defaults()
+                .withMapper(JSONMapper.of(new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)));
+        String request = "{ \"unknown\" : { \"nested\" : [1, 2] }, \"name\" : \"updated\", \"other\" : 1 }";
+
+        StringBean bean = new StringBean("name");
+        HTTPMethodProcessor.patch(request, bean, options);
+        Assert.assertEquals("updated", bean.getName());
+
+        bean = new StringBean("name");
+        HTTPMethodProcessor.patch(request, bean, options.withMode(PatchMode.STREAMING));
+        Assert.assertEquals("updated", bean.getName());
+
+        Assert.assertEquals("updated", HTTPMethodProcessor.patchCopy(request, new StringBean("name"), options).getName());
+    }
+
+    @Test(expected = JsonMapperException.class)
+    public void patchCopy_UnknownPropertyDefaultMapper_ThrowJsonMapperException() {
+        HTTPMethodProcessor.patchCopy("{ \"unknown\" : 1 }", new StringBean("name"));
+    }
+
+    @Test
+    public void patch_MapperWithTypeModifier_ExpectFieldTypesResolvedThroughIt() {
+        List<Type> modified = new ArrayList<>();
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.setTypeFactory(objectMapper.getTypeFactory().withModifier(new TypeModifier() {
+            @Override
+            public JavaType modifyType(JavaType type, Type jdkType, TypeBindings context, TypeFactory typeFactory) {
+                modified.add(jdkType);
+                return type;
+            }
+        }));
+
+        ArrayBean<String> arrayBean = new ArrayBean<>();
+        HTTPMethodProcessor.patch("{ \"elements\" : [\"one\"] }", arrayBean,
+                PatchOptions.defaults().withMode(PatchMode.STREAMING).withMapper(JSONMapper.of(objectMapper)));
+        Assert.assertEquals(Collections.singletonList("one"), arrayBean.getElements());
+        Assert.assertTrue(modified.stream().anyMatch(type -> type instanceof ParameterizedType));
+    }
+
+    @Test(expected = JsonMapperException.class)
+    public void patch_DefaultMapper_ExpectSingleValueRejected() {
+        HTTPMethodProcessor.patch("{ \"elements\" : \"one\" }", new ArrayBean<String>());
+    }
+
+    @Test
+    public void patch_Bytes_ExpectPatched() {
+        FirstNode firstNode = new FirstNode("old", new SecondNode("old", null));
+        HTTPMethodProcessor.patch(REQUEST.getBytes(StandardCharsets.UTF_8), firstNode);
+        assertPatched(firstNode);
+    }
+
+    @Test
+    public void patch_BytesSlice_ExpectOnlySliceRead() {
+        FirstNode firstNode = new FirstNode("old", new SecondNode("old", null));
+        byte[] bytes = ("garbage" + REQUEST + "garbage").getBytes(StandardCharsets.UTF_8);
+        HTTPMethodProcessor.patch(bytes, 7, REQUEST.length(), firstNode, PatchOptions.defaults());
+        assertPatched(firstNode);
+    }
+
+    @Test
+    public void patch_BytesStreamingMode_ExpectPatched() {
+        FirstNode firstNode = new FirstNode("old", new SecondNode("old", null));
+        byte[] bytes = REQUEST.getBytes(StandardCharsets.UTF_8);
+        HTTPMethodProcessor.patch(bytes, 0, bytes.length, firstNode, STREAMING);
+        assertPatched(firstNode);
+    }
+
+    @Test
+    public void patch_GzipBytes_ExpectDecompressed() throws IOException {
+        FirstNode firstNode = new FirstNode("old", new SecondNode("old", null));
+        HTTPMethodProcessor.patch(gzip(REQUEST), firstNode);
+        assertPatched(firstNode);
+    }
+
+    @Test
+    public void patch_DeflateStream_ExpectDecompressed() throws IOException {
+        FirstNode firstNode = new FirstNode("old", new SecondNode("old", null));
+        HTTPMethodProcessor.patch(new ByteArrayInputStream(deflate(REQUEST)), firstNode, STREAMING);
+        assertPatched(firstNode);
+    }
+
+    @Test
+    public void patch_InputStream_ExpectStreamNotClosed() {
+        FirstNode firstNode = new FirstNode("old", new SecondNode("old", null));
+        TrackingInputStream stream = new TrackingInputStream(REQUEST.getBytes(StandardCharsets.UTF_8));
+        HTTPMethodProcessor.patch(stream, firstNode);
+        assertPatched(firstNode);
+        Assert.assertFalse(stream.closed);
+    }
+
+    @Test
+    public void patch_HeapByteBuffer_ExpectPositionUntouched() {
+        FirstNode firstNode = new FirstNode("old", new SecondNode("old", null));
+        ByteBuffer buffer = ByteBuffer.wrap(("  " + REQUEST).getBytes(StandardCharsets.UTF_8));
+        buffer.position(2);
+        HTTPMethodProcessor.patch(buffer, firstNode);
+        assertPatched(firstNode);
+        Assert.assertEquals(2, buffer.position());
+    }
+
+    @Test
+    public void patch_DirectByteBuffer_ExpectPatched() throws IOException {
+        FirstNode firstNode = new FirstNode("old", new SecondNode("old", null));
+        byte[] bytes = gzip(REQUEST);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+        HTTPMethodProcessor.patch(buffer, firstNode);
+        assertPatched(firstNode);
+        Assert.assertEquals(0, buffer.position());
+    }
+
+    @Test
+    public void patch_Reader_ExpectPatched() {
+        FirstNode firstNode = new FirstNode("old", new SecondNode("old", null));
+        HTTPMethodProcessor.patch(new StringReader(REQUEST), firstNode);
+        assertPatched(firstNode);
+    }
+
+    @Test(expected = JsonMapperException.class)
+    public void patch_EmptyBytes_ExpectJsonMapperException() {
+        HTTPMethodProcessor.patch(new byte[0], new FirstNode("old", null));
+    }
+
+    @Test
+    public void patch_NullBytes_ExpectJsonMergePatchException() {
+        for (PatchOptions options : new PatchOptions[]{PatchOptions.defaults(), PatchOptions.defaults().withCache(new PatchCache(8))})
+            try {
+                HTTPMethodProcessor.patch(null, 0, 0, new FirstNode("old", null), options);
+                Assert.fail();
+            } catch (JsonMergePatchException e) {
+                Assert.assertFalse(e.getErrorDetails().isEmpty());
+            }
+        try {
+            HTTPMethodProcessor.patch((byte[]) null, new FirstNode("old", null));
+            Assert.fail();
+        } catch (JsonMergePatchException e) {
+            Assert.assertFalse(e.getErrorDetails().isEmpty());
+        }
+    }
+
+    @Test(expected = JsonMapperException.class)
+    public void patch_MalformedStream_ExpectJsonMapperException() {
+        HTTPMethodProcessor.patch(new ByteArrayInputStream("{ \"name\" : ".getBytes(StandardCharsets.UTF_8)), new FirstNode("old", null));
+    }
+
+    private static void assertPatched(FirstNode firstNode) {
+        Assert.assertEquals("first", firstNode.getName());
+        Assert.assertEquals("second", firstNode.getSecondNode().getName());
+    }
+
+    private static byte[] gzip(String request) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(request.getBytes(StandardCharsets.UTF_8));
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] deflate(String request) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DeflaterOutputStream deflate = new DeflaterOutputStream(out)) {
+            deflate.write(request.getBytes(StandardCharsets.UTF_8));
+        }
+        return out.toByteArray();
+    }
+
+    private static class TrackingInputStream extends ByteArrayInputStream {
+
+        private boolean closed;
+
+        TrackingInputStream(byte[] bytes) {
+            super(bytes);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+    }
+
+}
@@ -29,18 +29,27 @@
 
 package com.hubbledouble.json_merge_patch.it;
 
+import com.hubbledouble.json_merge_patch.constant.PatchMode;
+import com.hubbledouble.json_merge_patch.core.AttributesBean;
 import com.hubbledouble.json_merge_patch.core.MapBean;
+import com.hubbledouble.json_merge_patch.core.ThirdNode;
 import com.hubbledouble.json_merge_patch.processor.HTTPMethodProcessor;
+import com.hubbledouble.json_merge_patch.processor.PatchOptions;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
 public class MapIntegrationTest {
 
+    private static final PatchOptions[] MODES = {
+            PatchOptions.defaults(),
+            PatchOptions.defaults().withMode(PatchMode.STREAMING)};
+
     @Test
-    public void patch_MapNotEmpty_UpdateMap() {
+    public void patch_MapNotEmpty_MergeMap() {
         String request =
                 "{" +
                         "\"elements\" : {" +
@@ -63,7 +72,8 @@ public class MapIntegrationTest {
                         .entrySet()
                         .stream()
                         .anyMatch(i -> i.getKey().equals("three") && i.getValue().equals("3")));
-        Assert.assertEquals(2, bean.getElements().size());
+        Assert.assertEquals("1", bean.getElements().get("one"));
+        Assert.assertEquals(3, bean.getElements().size());
     }
 
     @Test
@@ -92,7 +102,7 @@ public class MapIntegrationTest {
     }
 
     @Test
-    public void patch_ResultMapEmpty_UpdateMap() {
+    public void patch_EmptyObject_MapUnchanged() {
         String request =
                 "{" +
                         "\"elements\" : {} " +
@@ -102,7 +112,8 @@ public class MapIntegrationTest {
         map.put("one", "1");
         MapBean bean = new MapBean(map);
         HTTPMethodProcessor.patch(request, bean);
-        Assert.assertEquals(0, bean.getElements().size());
+        Assert.assertSame(map, bean.getElements());
+        Assert.assertEquals(1, bean.getElements().size());
     }
 
     @Test
@@ -130,6 +141,88 @@ public class MapIntegrationTest {
         Map<String, String> map = new HashMap<>();
         map.put("one", "1");
         HTTPMethodProcessor.patch(request, map);
+        Assert.assertEquals(3, map.size());
+    }
+
+    @Test
+    public void patch_RegularMapNullValue_RemoveKey() {
+        for (PatchOptions options : MODES) {
+            Map<String, Object> map = new HashMap<>();
+            map.put("one", "1");
+            map.put("two", "2");
+            HTTPMethodProcessor.patch("{ \"one\" : null, \"three\" : { \"a\" : 1, \"b\" : null } }", map, options);
+            Assert.assertEquals(2, map.size());
+            Assert.assertEquals("2", map.get("two"));
+            Assert.assertEquals(Collections.singletonMap("a", 1), map.get("three"));
+        }
+    }
+
+    @Test
+    public void patch_NestedMaps_MergeInPlace() {
+        for (PatchOptions options : MODES) {
+            Map<String, Object> address = new HashMap<>();
+            address.put("city", "Monterrey");
+            address.put("zip", "64000");
+            Map<String, Object> attributes = new HashMap<>();
+            attributes.put("address", address);
+            attributes.put("color", "red");
+            attributes.put("size", 1);
+            AttributesBean bean = new AttributesBean(attributes, null, null);
+
+            HTTPMethodProcessor.patch(
+                    "{ \"attributes\" : { \"address\" : { \"zip\" : \"64010\", \"state\" : \"NL\" }, \"color\" : null, \"size\" : 2 } }",
+                    bean,
+                    options);
+
+            Assert.assertSame(attributes, bean.getAttributes());
+            Assert.assertSame(address, attributes.get("address"));
+            Assert.assertEquals("Monterrey", address.get("city"));
+            Assert.assertEquals("64010", address.get("zip"));
+            Assert.assertEquals("NL", address.get("state"));
+            Assert.assertFalse(attributes.containsKey("color"));
+            Assert.assertEquals(2, attributes.get("size"));
+        }
+    }
+
+    @Test
+    public void patch_MapOfBeans_MergeIntoBeans() {
+        for (PatchOptions options : MODES) {
+            ThirdNode node = new ThirdNode("one");
+            Map<String, ThirdNode> nodes = new HashMap<>();
+            nodes.put("first", node);
+            AttributesBean bean = new AttributesBean(null, nodes, null);
+
+            HTTPMethodProcessor.patch(
+                    "{ \"nodes\" : { \"first\" : { \"name\" : \"changed\" }, \"second\" : { \"name\" : \"two\" } } }",
+                    bean,
+                    options);
+
+            Assert.assertSame(node, nodes.get("first"));
+            Assert.assertEquals("changed", node.getName());
+            Assert.assertEquals("two", nodes.get("second").getName());
+        }
+    }
+
+    @Test
+    public void patch_NonStringKeys_ExpectKeysBound() {
+        for (PatchOptions options : MODES) {
+            Map<Integer, String> numbered = new HashMap<>();
+            numbered.put(1, "one");
+            numbered.put(2, "two");
+            AttributesBean bean = new AttributesBean(null, null, numbered);
+            HTTPMethodProcessor.patch("{ \"numbered\" : { \"1\" : null, \"3\" : \"three\" } }", bean, options);
+            Assert.assertEquals(2, numbered.size());
+            Assert.assertEquals("three", numbered.get(3));
+        }
+    }
+
+    @Test
+    public void patch_InitialMapNullWithNullValues_ExpectNullsDropped() {
+        for (PatchOptions options : MODES) {
+            AttributesBean bean = new AttributesBean();
+            HTTPMethodProcessor.patch("{ \"attributes\" : { \"a\" : 1, \"b\" : null } }", bean, options);
+            Assert.assertEquals(Collections.singletonMap("a", 1), bean.getAttributes());
+        }
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,219 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.it;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.hubbledouble.json_merge_patch.constant.PatchMode;
+import com.hubbledouble.json_merge_patch.core.FirstNode;
+import com.hubbledouble.json_merge_patch.core.SecondNode;
+import com.hubbledouble.json_merge_patch.core.StringBean;
+import com.hubbledouble.json_merge_patch.exception.JsonMapperException;
+import com.hubbledouble.json_merge_patch.exception.ValidationException;
+import com.hubbledouble.json_merge_patch.mapper.JSONMapper;
+import com.hubbledouble.json_merge_patch.metrics.HistogramPatchListener;
+import com.hubbledouble.json_merge_patch.metrics.PatchMetrics;
+import com.hubbledouble.json_merge_patch.metrics.PatchPhase;
+import com.hubbledouble.json_merge_patch.processor.DocumentProcessor;
+import com.hubbledouble.json_merge_patch.processor.HTTPMethodProcessor;
+import com.hubbledouble.json_merge_patch.processor.PatchOptions;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class MetricsIntegrationTest {
+
+    private static final String REQUEST = "{ \"name\" : \"one\", \"secondNode\" : { \"name\" : \"two\" } }";
+
+    @Test
+    public void patch_TreeMode_ExpectMetricsReported() {
+        List<PatchMetrics> reported = new ArrayList<>();
+        HTTPMethodProcessor.patch(REQUEST, new FirstNode("first", new SecondNode("second", null)),
+                PatchOptions.defaults().withListener(reported::add));
+
+        Assert.assertEquals(1, reported.size());
+        PatchMetrics metrics = reported.get(0);
+        Assert.assertEquals(FirstNode.class, metrics.getTargetClass());
+        Assert.assertEquals(REQUEST.length(), metrics.getRequestSize());
+        Assert.assertEquals(3, metrics.getFieldsVisited());
+        Assert.assertEquals(2, metrics.getFieldsWritten());
+        Assert.assertEquals(0, metrics.getViolations());
+        Assert.assertFalse(metrics.isFailed());
+        Assert.assertTrue(metrics.getNanos(PatchPhase.PARSE) > 0);
+        Assert.assertTrue(metrics.getNanos(PatchPhase.APPLY) > 0);
+        Assert.assertEquals(
+                metrics.getNanos(PatchPhase.PARSE) + metrics.getNanos(PatchPhase.APPLY) + metrics.getNanos(PatchPhase.VALIDATION),
+                metrics.getTotalNanos());
+    }
+
+    @Test
+    public void patch_StreamingMode_ExpectRequestReadWhileApplying() {
+        List<PatchMetrics> reported = new ArrayList<>();
+        byte[] request = REQUEST.getBytes(StandardCharsets.UTF_8);
+        HTTPMethodProcessor.patch(request, 0, request.length, new FirstNode("first", new SecondNode("second", null)),
+                PatchOptions.defaults().withMode(PatchMode.STREAMING).withListener(reported::add));
+
+        PatchMetrics metrics = reported.get(0);
+        Assert.assertEquals(request.length, metrics.getRequestSize());
+        Assert.assertTrue(metrics.getNanos(PatchPhase.APPLY) > 0);
+        Assert.assertEquals(3, metrics.getFieldsVisited());
+        Assert.assertEquals(2, metrics.getFieldsWritten());
+    }
+
+    @Test
+    public void patch_ConstraintViolationsFound_ExpectFailureReported() {
+        List<PatchMetrics> reported = new ArrayList<>();
+        try {
+            HTTPMethodProcessor.patch("{ \"name\" : \"theNameSizeIsMoreThan10\" }", new StringBean("name"),
+                    PatchOptions.defaults().withListener(reported::add));
+            Assert.fail();
+        } catch (ValidationException e) {
+            PatchMetrics metrics = reported.get(0);
+            Assert.assertTrue(metrics.isFailed());
+            Assert.assertEquals(1, metrics.getViolations());
+            Assert.assertEquals(1, metrics.getFieldsWritten());
+        }
+    }
+
+    @Test
+    public void patch_InvalidKey_ExpectFailureReported() {
+        List<PatchMetrics> reported = new ArrayList<>();
+        try {
+            HTTPMethodProcessor.patch("{ \"updateName\" : false }", new StringBean("name"),
+                    PatchOptions.defaults().withListener(reported::add));
+            Assert.fail();
+        } catch (JsonMapperException e) {
+            Assert.assertEquals(1, reported.size());
+            Assert.assertTrue(reported.get(0).isFailed());
+            Assert.assertEquals(0, reported.get(0).getViolations());
+        }
+    }
+
+    @Test
+    public void patch_FailingApply_ExpectApplyPhaseReported() {
+        List<PatchMetrics> reported = new ArrayList<>();
+        try {
+            HTTPMethodProcessor.patch("{ \"name\" : \"one\", \"unknown\" : 1 }", new FirstNode("first", null),
+                    PatchOptions.defaults().withMode(PatchMode.STREAMING).withListener(reported::add));
+            Assert.fail();
+        } catch (JsonMapperException e) {
+            PatchMetrics metrics = reported.get(0);
+            Assert.assertTrue(metrics.isFailed());
+            Assert.assertTrue(metrics.getNanos(PatchPhase.APPLY) > 0);
+            Assert.assertEquals(2, metrics.getFieldsVisited());
+            Assert.assertEquals(1, metrics.getFieldsWritten());
+        }
+    }
+
+    @Test
+    public void patch_NonAsciiString_ExpectSizeInUtf8Bytes() {
+        List<PatchMetrics> reported = new ArrayList<>();
+        String request = "{ \"name\" : \"\u00e9\u20ac\ud83d\ude00\" }";
+        HTTPMethodProcessor.patch(request, new StringBean("name"), PatchOptions.defaults().withListener(reported::add));
+        HTTPMethodProcessor.patchCopy(request, new StringBean("name"), PatchOptions.defaults().withListener(reported::add));
+
+        Assert.assertEquals(request.getBytes(StandardCharsets.UTF_8).length, reported.get(0).getRequestSize());
+        Assert.assertEquals(request.getBytes(StandardCharsets.UTF_8).length, reported.get(1).getRequestSize());
+    }
+
+    @Test
+    public void patch_ListenerThrows_ExpectPatchApplied() {
+        StringBean bean = new StringBean("name");
+        HTTPMethodProcessor.patch("{ \"name\" : \"updated\" }", bean, PatchOptions.defaults().withListener(metrics -> {
+            throw new IllegalStateException();
+        }));
+        Assert.assertEquals("updated", bean.getName());
+    }
+
+    @Test
+    public void patchEach_Objects_ExpectMetricsPerObject() {
+        HistogramPatchListener listener = new HistogramPatchListener();
+        List<StringBean> beans = Arrays.asList(new StringBean("one"), new StringBean("two"), new StringBean("three"));
+        HTTPMethodProcessor.patchEach("{ \"name\" : \"updated\" }", beans, Runnable::run, PatchOptions.defaults().withListener(listener));
+
+        HistogramPatchListener.Stats stats = listener.get(StringBean.class);
+        Assert.assertEquals(3, stats.getPatches());
+        Assert.assertEquals(0, stats.getFailures());
+        Assert.assertEquals(3, stats.getNanos(PatchPhase.APPLY).getCount());
+        Assert.assertEquals(1, stats.getFieldsWritten().getPercentile(100));
+    }
+
+    @Test
+    public void patchAll_Entities_ExpectMetricsPerEntity() {
+        HistogramPatchListener listener = new HistogramPatchListener();
+        StringBean bean = new StringBean("name");
+        try {
+            HTTPMethodProcessor.patchAll("{ \"1\" : { \"name\" : \"one\" }, \"2\" : { \"name\" : \"theNameSizeIsMoreThan10\" } }",
+                    id -> bean, PatchOptions.defaults().withListener(listener));
+            Assert.fail();
+        } catch (ValidationException e) {
+            HistogramPatchListener.Stats stats = listener.get(StringBean.class);
+            Assert.assertEquals(2, stats.getPatches());
+            Assert.assertEquals(1, stats.getFailures());
+            Assert.assertEquals(1, stats.getViolations());
+        }
+    }
+
+    @Test
+    public void patchCopy_Object_ExpectMetricsReported() {
+        HistogramPatchListener listener = new HistogramPatchListener();
+        HTTPMethodProcessor.patchCopy(REQUEST, new FirstNode("first", new SecondNode("second", null)),
+                PatchOptions.defaults().withListener(listener));
+
+        HistogramPatchListener.Stats stats = listener.get(FirstNode.class);
+        Assert.assertEquals(1, stats.getPatches());
+        Assert.assertEquals(REQUEST.length(), stats.getRequestSize().getMax());
+        Assert.assertEquals(2, stats.getFieldsWritten().getMax());
+    }
+
+    @Test
+    public void patch_Document_ExpectMetricsReported() {
+        List<PatchMetrics> reported = new ArrayList<>();
+        ObjectNode document = (ObjectNode) JSONMapper.jsonStringToJsonNode("{\"a\":{\"b\":1}}");
+        DocumentProcessor.patch("{\"a\":{\"b\":2,\"c\":3}}", document, PatchOptions.defaults().withListener(reported::add));
+
+        PatchMetrics metrics = reported.get(0);
+        Assert.assertEquals(ObjectNode.class, metrics.getTargetClass());
+        Assert.assertEquals(3, metrics.getFieldsVisited());
+        Assert.assertEquals(2, metrics.getFieldsWritten());
+        Assert.assertEquals(0, metrics.getNanos(PatchPhase.VALIDATION));
+    }
+
+    @Test
+    public void patch_NoListener_ExpectNothingRecorded() {
+        HistogramPatchListener listener = new HistogramPatchListener();
+        HTTPMethodProcessor.patch(REQUEST, new FirstNode("first", null), PatchOptions.defaults().withListener(listener).withListener(null));
+        Assert.assertTrue(listener.getAll().isEmpty());
+    }
+
+}
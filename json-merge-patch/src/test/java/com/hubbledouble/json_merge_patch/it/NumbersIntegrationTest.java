@@ -30,6 +30,7 @@
 package com.hubbledouble.json_merge_patch.it;
 
 import com.hubbledouble.json_merge_patch.core.NumbersBean;
+import com.hubbledouble.json_merge_patch.core.PrimitivesBean;
 import com.hubbledouble.json_merge_patch.processor.HTTPMethodProcessor;
 import org.junit.Assert;
 import org.junit.Test;
@@ -76,6 +77,27 @@ public class NumbersIntegrationTest {
     }
 
 
+    @Test
+    public void patch_PrimitiveNumbers_UpdateNumbers() {
+
+        String request =
+                "{" +
+                        "\"intNumber\" : 5, " +
+                        "\"longNumber\" : 6, " +
+                        "\"floatNumber\" : 7.0, " +
+                        "\"doubleNumber\" : 8.0 " +
+                        "}";
+
+        PrimitivesBean bean = new PrimitivesBean(1, 2l, 3f, 4d, true);
+        HTTPMethodProcessor.patch(request, bean);
+        Assert.assertEquals(5, bean.getIntNumber());
+        Assert.assertEquals(6l, bean.getLongNumber());
+        Assert.assertEquals(7f, bean.getFloatNumber(), 0f);
+        Assert.assertEquals(8d, bean.getDoubleNumber(), 0d);
+        Assert.assertTrue(bean.isFlag());
+
+    }
+
     private void testNumbers(Integer integerNumber,
                              Long longNumber,
                              Float floatNumber,
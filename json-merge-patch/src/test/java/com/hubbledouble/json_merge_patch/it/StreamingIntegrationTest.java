@@ -0,0 +1,208 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.it;
+
+import com.example.model.ForeignBean;
+import com.hubbledouble.json_merge_patch.constant.PatchMode;
+import com.hubbledouble.json_merge_patch.core.*;
+import com.hubbledouble.json_merge_patch.exception.JsonMapperException;
+import com.hubbledouble.json_merge_patch.exception.ValidationException;
+import com.hubbledouble.json_merge_patch.processor.HTTPMethodProcessor;
+import com.hubbledouble.json_merge_patch.processor.PatchOptions;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class StreamingIntegrationTest {
+
+    private static final PatchOptions STREAMING = PatchOptions.defaults().withMode(PatchMode.STREAMING);
+
+    @Test
+    public void patch_NodeElementLeafSameElementNameUpdate_ExpectOnlyLeafChange() {
+        NodeBean<String> nodeBean = new NodeBean<>("one", new LeafBean<>("one"));
+        String request = "{ \"element\" : \"one\", \"leaf\" : { \"element\" : \"two\" } }";
+        HTTPMethodProcessor.patch(request, nodeBean, STREAMING);
+        Assert.assertEquals("one", nodeBean.getElement());
+        Assert.assertEquals("two", nodeBean.getLeaf().getElement());
+    }
+
+    @Test
+    public void patch_ThirdNodeUpdated_ExpectAllNodesRemainUntouched() {
+
+        ThirdNode thirdNode = new ThirdNode("third");
+        FirstNode firstNode = new FirstNode("first", new SecondNode("second", thirdNode));
+        String request = "{ \"secondNode\" : { \"thirdNode\" : { \"name\" : \"thirdUpdated\" } } }";
+
+        HTTPMethodProcessor.patch(request, firstNode, STREAMING);
+        Assert.assertEquals("first", firstNode.getName());
+        Assert.assertEquals("second", firstNode.getSecondNode().getName());
+        Assert.assertSame(thirdNode, firstNode.getSecondNode().getThirdNode());
+        Assert.assertEquals("thirdUpdated", thirdNode.getName());
+
+    }
+
+    @Test
+    public void patch_StartWithOnlyFirstNodeUpdateUntilThirdNode_ExpectFullNode() {
+
+        FirstNode firstNode = new FirstNode("first", null);
+        String request = "{ \"secondNode\" : { \"name\" : \"second\", \"thirdNode\" : { \"name\" : \"third\" } } }";
+
+        HTTPMethodProcessor.patch(request, firstNode, STREAMING);
+        Assert.assertEquals("second", firstNode.getSecondNode().getName());
+        Assert.assertEquals("third", firstNode.getSecondNode().getThirdNode().getName());
+
+    }
+
+    @Test
+    public void patch_NestedNodeNull_ExpectNull() {
+
+        FirstNode firstNode = new FirstNode("first", new SecondNode("second", new ThirdNode("third")));
+        HTTPMethodProcessor.patch("{ \"secondNode\" : null }", firstNode, STREAMING);
+        Assert.assertEquals("first", firstNode.getName());
+        Assert.assertNull(firstNode.getSecondNode());
+
+    }
+
+    @Test
+    public void patch_NestedBeanDeclaredElsewhere_ExpectSameResultInEveryMode() {
+        String request = "{ \"name\" : \"updated\", \"foreign\" : { \"first\" : \"X\" } }";
+        List<ForeignHolderBean> results = new ArrayList<>();
+        for (PatchMode mode : PatchMode.values()) {
+            ForeignHolderBean bean = new ForeignHolderBean("name", new ForeignBean("1", "2"));
+            HTTPMethodProcessor.patch(request, bean, PatchOptions.defaults().withMode(mode));
+            results.add(bean);
+        }
+        results.add(HTTPMethodProcessor.patchCopy(request, new ForeignHolderBean("name", new ForeignBean("1", "2"))));
+
+        for (ForeignHolderBean bean : results) {
+            Assert.assertEquals("updated", bean.getName());
+            Assert.assertEquals("1", bean.getForeign().getFirst());
+            Assert.assertEquals("2", bean.getForeign().getSecond());
+        }
+    }
+
+    @Test
+    public void patch_NumberObjectsString_UpdateNumbers() {
+
+        NumbersBean numbersBean = new NumbersBean(1, 2l, 3f, 4d);
+        String request = "{ \"integerNumber\" : \"5\", \"longNumber\" : 6, \"floatNumber\" : 7.0, \"doubleNumber\" : \"8.0\" }";
+
+        HTTPMethodProcessor.patch(request, numbersBean, STREAMING);
+        Assert.assertEquals(new Integer(5), numbersBean.getIntegerNumber());
+        Assert.assertEquals(new Long(6), numbersBean.getLongNumber());
+        Assert.assertEquals(new Float(7), numbersBean.getFloatNumber());
+        Assert.assertEquals(new Double(8), numbersBean.getDoubleNumber());
+
+    }
+
+    @Test
+    public void patch_PrimitiveFields_UpdatePrimitives() {
+
+        PrimitivesBean bean = new PrimitivesBean(1, 2l, 3f, 4d, false);
+        String request = "{ \"intNumber\" : 5, \"longNumber\" : \"6\", \"floatNumber\" : 7, \"doubleNumber\" : 8.5, \"flag\" : true }";
+
+        HTTPMethodProcessor.patch(request, bean, STREAMING);
+        Assert.assertEquals(5, bean.getIntNumber());
+        Assert.assertEquals(6l, bean.getLongNumber());
+        Assert.assertEquals(7f, bean.getFloatNumber(), 0f);
+        Assert.assertEquals(8.5d, bean.getDoubleNumber(), 0d);
+        Assert.assertTrue(bean.isFlag());
+
+    }
+
+    @Test
+    public void patch_ArrayWithNodes_ReplaceArray() {
+
+        ArrayBeanNodes arrayBean = new ArrayBeanNodes(Arrays.asList(new NodeBean<>("one", new LeafBean<>("one"))));
+        String request = "{ \"elements\" : [ { \"element\" : \"two\", \"leaf\" : { \"element\" : \"three\" } } ] }";
+
+        HTTPMethodProcessor.patch(request, arrayBean, STREAMING);
+        Assert.assertEquals(1, arrayBean.getElements().size());
+        Assert.assertEquals("two", arrayBean.getElements().get(0).getElement());
+        Assert.assertEquals("three", arrayBean.getElements().get(0).getLeaf().getElement());
+
+    }
+
+    @Test
+    public void patch_MapNotEmpty_MergeMap() {
+
+        Map<String, String> map = new HashMap<>();
+        map.put("one", "1");
+        MapBean bean = new MapBean(map);
+
+        HTTPMethodProcessor.patch("{ \"elements\" : { \"two\" : \"2\" } }", bean, STREAMING);
+        Assert.assertEquals(2, bean.getElements().size());
+        Assert.assertEquals("1", bean.getElements().get("one"));
+        Assert.assertEquals("2", bean.getElements().get("two"));
+
+    }
+
+    @Test
+    public void patch_PlainArray_ReplaceArray() {
+
+        List<String> object = new ArrayList<>(Arrays.asList("one"));
+        HTTPMethodProcessor.patch("[ \"value\" ]", object, STREAMING);
+        Assert.assertEquals(Arrays.asList("value"), object);
+
+    }
+
+    @Test(expected = JsonMapperException.class)
+    public void patch_InvalidKey_ThrowException() {
+        HTTPMethodProcessor.patch("{ \"updateName\" : false }", new StringBean("name"), STREAMING);
+    }
+
+    @Test
+    public void patch_KeyDifferentCase_UpdateField() {
+        StringBean bean = new StringBean("name");
+        HTTPMethodProcessor.patch("{ \"NAME\" : \"updated\" }", bean, STREAMING);
+        Assert.assertEquals("updated", bean.getName());
+    }
+
+    @Test(expected = JsonMapperException.class)
+    public void patch_KeyDifferentCaseCaseSensitive_ThrowException() {
+        HTTPMethodProcessor.patch("{ \"NAME\" : \"updated\" }", new StringBean("name"), STREAMING.withCaseInsensitive(false));
+    }
+
+    @Test(expected = JsonMapperException.class)
+    public void patch_NotJsonObject_ThrowException() {
+        HTTPMethodProcessor.patch("\"name\"", new StringBean("name"), STREAMING);
+    }
+
+    @Test(expected = ValidationException.class)
+    public void patch_ConstraintViolationsFound_ThrowException() {
+        HTTPMethodProcessor.patch("{ \"name\" : \"theNameSizeIsMoreThan10\" }", new StringBean("name"), STREAMING);
+    }
+
+}
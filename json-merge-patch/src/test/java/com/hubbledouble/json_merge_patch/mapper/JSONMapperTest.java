@@ -0,0 +1,107 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.mapper;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.TypeBindings;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.databind.type.TypeModifier;
+import com.hubbledouble.json_merge_patch.exception.JsonMapperException;
+import com.hubbledouble.json_merge_patch.core.StringBean;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+public class JSONMapperTest {
+
+    @Test
+    public void jsonStringToObject_FieldExist_NoExceptions() {
+        JSONMapper.jsonStringToObject("{ \"name\" : null }", StringBean.class);
+    }
+
+    @Test(expected = JsonMapperException.class)
+    public void jsonStringToObject_FieldDoesNotExist_ThrowExceptions() {
+        JSONMapper.jsonStringToObject("{ \"nameDoesNotExist\" : null }", StringBean.class);
+    }
+
+    @Test
+    public void jsonStringToJsonNode_JsonRequest_NoException() {
+        JSONMapper.jsonStringToJsonNode("{ \"name\" : null }");
+    }
+
+    @Test(expected = JsonMapperException.class)
+    public void jsonStringToJsonNode_NotJson_ThrowException() {
+        JSONMapper.jsonStringToJsonNode("Hello");
+    }
+
+    @Test
+    public void readValue_ConfiguredMapper_IgnoreUnknownField() {
+        JSONMapper mapper = JSONMapper.of(new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES));
+        StringBean bean = mapper.readValue("{ \"nameDoesNotExist\" : null, \"name\" : \"one\" }", StringBean.class);
+        Assert.assertEquals("one", bean.getName());
+    }
+
+    @Test
+    public void readValue_SameTypeTwice_ReuseReader() {
+        JSONMapper mapper = JSONMapper.of(new ObjectMapper());
+        Assert.assertSame(mapper.readerFor(StringBean.class), mapper.readerFor(StringBean.class));
+        Assert.assertSame(mapper.readerFor(StringBean.class), mapper.readerFor(mapper.constructType(StringBean.class)));
+        Assert.assertSame(
+                mapper.readerFor(mapper.getObjectMapper().getTypeFactory().constructCollectionType(List.class, StringBean.class)),
+                mapper.readerFor(mapper.getObjectMapper().getTypeFactory().constructCollectionType(List.class, StringBean.class)));
+    }
+
+    @Test
+    public void constructType_ConfiguredMapper_UseItsTypeFactory() {
+        List<Type> modified = new ArrayList<>();
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.setTypeFactory(objectMapper.getTypeFactory().withModifier(new TypeModifier() {
+            @Override
+            public JavaType modifyType(JavaType type, Type jdkType, TypeBindings context, TypeFactory typeFactory) {
+                modified.add(jdkType);
+                return type;
+            }
+        }));
+        JSONMapper.of(objectMapper).constructType(StringBean.class);
+        Assert.assertTrue(modified.contains(StringBean.class));
+    }
+
+    @Test
+    public void defaults_StaticMethods_ShareDefaultMapper() {
+        Assert.assertSame(JSONMapper.defaults(), JSONMapper.defaults());
+        Assert.assertNotSame(JSONMapper.defaults(), JSONMapper.of(new ObjectMapper()));
+    }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.metrics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class HistogramTest {
+
+    @Test
+    public void getPercentile_SmallValues_ExpectExactValues() {
+        Histogram histogram = new Histogram();
+        for (int i = 1; i <= 10; i++)
+            histogram.record(i);
+        Assert.assertEquals(10, histogram.getCount());
+        Assert.assertEquals(5, histogram.getPercentile(50));
+        Assert.assertEquals(10, histogram.getPercentile(100));
+        Assert.assertEquals(1, histogram.getPercentile(0));
+        Assert.assertEquals(5.5d, histogram.getMean(), 0d);
+    }
+
+    @Test
+    public void getPercentile_LargeValues_ExpectWithinBucketPrecision() {
+        Histogram histogram = new Histogram();
+        for (long i = 1; i <= 1_000; i++)
+            histogram.record(i * 1_000);
+        Assert.assertEquals(1_000_000, histogram.getMax());
+        Assert.assertEquals(1_000_000, histogram.getPercentile(100));
+        assertWithin(500_000, histogram.getPercentile(50));
+        assertWithin(990_000, histogram.getPercentile(99));
+    }
+
+    @Test
+    public void getPercentile_Empty_ExpectZero() {
+        Histogram histogram = new Histogram();
+        Assert.assertEquals(0, histogram.getPercentile(99));
+        Assert.assertEquals(0d, histogram.getMean(), 0d);
+    }
+
+    @Test
+    public void record_NegativeValue_ExpectZero() {
+        Histogram histogram = new Histogram();
+        histogram.record(-5);
+        Assert.assertEquals(0, histogram.getMax());
+        Assert.assertEquals(0, histogram.getPercentile(100));
+    }
+
+    @Test
+    public void bucket_AnyValue_ExpectValueWithinBucket() {
+        for (long value : new long[]{0, 15, 16, 17, 100, 1_023, 1_024, 123_456_789, Long.MAX_VALUE}) {
+            int bucket = Histogram.bucket(value);
+            Assert.assertTrue(value <= Histogram.highestValue(bucket));
+            Assert.assertTrue(0 == bucket || value > Histogram.highestValue(bucket - 1));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void getPercentile_OutOfRange_ThrowException() {
+        new Histogram().getPercentile(101);
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        Assert.assertTrue(actual + " not within 12.5% of " + expected,
+                actual >= expected && actual <= expected * 1.125);
+    }
+
+}
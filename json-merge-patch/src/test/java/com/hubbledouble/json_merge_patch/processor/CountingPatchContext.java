@@ -0,0 +1,75 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+
+package com.hubbledouble.json_merge_patch.processor;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Context counting the property lookups of a traversal by path, e.g. {@code first.secondNode}.
+ */
+class CountingPatchContext extends PatchContext {
+
+    private final Map<String, Integer> lookups = new HashMap<>();
+    private final Deque<String> path = new ArrayDeque<>();
+
+    CountingPatchContext(PatchOptions options) {
+        super("com.hubbledouble", options);
+    }
+
+    /**
+     * @return number of lookups per path
+     */
+    Map<String, Integer> getLookups() {
+        return lookups;
+    }
+
+    @Override
+    PatchProperty property(PatchPlan plan, String key) {
+        lookups.merge(path.isEmpty() ? key : path.peek() + "." + key, 1, Integer::sum);
+        return super.property(plan, key);
+    }
+
+    @Override
+    int enter(String name) {
+        path.push(path.isEmpty() ? name : path.peek() + "." + name);
+        return super.enter(name);
+    }
+
+    @Override
+    void leave(int mark) {
+        path.pop();
+        super.leave(mark);
+    }
+
+}
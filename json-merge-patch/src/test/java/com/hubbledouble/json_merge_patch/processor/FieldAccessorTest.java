@@ -0,0 +1,86 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.processor;
+
+import com.hubbledouble.json_merge_patch.core.NumbersBean;
+import com.hubbledouble.json_merge_patch.core.PrimitivesBean;
+import com.hubbledouble.json_merge_patch.core.StringBean;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FieldAccessorTest {
+
+    @Test
+    public void copy_PrimitiveFields_CopyValues() {
+        PrimitivesBean bean = new PrimitivesBean();
+        PrimitivesBean source = new PrimitivesBean(1, 2l, 3f, 4d, true);
+        for (PatchProperty property : PatchPlan.of(PrimitivesBean.class).properties())
+            property.accessor().copy(bean, source);
+        Assert.assertEquals(1, bean.getIntNumber());
+        Assert.assertEquals(2l, bean.getLongNumber());
+        Assert.assertEquals(3f, bean.getFloatNumber(), 0f);
+        Assert.assertEquals(4d, bean.getDoubleNumber(), 0d);
+        Assert.assertTrue(bean.isFlag());
+    }
+
+    @Test
+    public void setPrimitive_PrimitiveFields_SetValues() {
+        PrimitivesBean bean = new PrimitivesBean();
+        PatchPlan plan = PatchPlan.of(PrimitivesBean.class);
+        plan.property("intNumber").accessor().setInt(bean, 5);
+        plan.property("longNumber").accessor().setLong(bean, 6l);
+        plan.property("floatNumber").accessor().setFloat(bean, 7f);
+        plan.property("doubleNumber").accessor().setDouble(bean, 8d);
+        plan.property("flag").accessor().setBoolean(bean, true);
+        Assert.assertEquals(5, bean.getIntNumber());
+        Assert.assertEquals(6l, bean.getLongNumber());
+        Assert.assertEquals(7f, bean.getFloatNumber(), 0f);
+        Assert.assertEquals(8d, bean.getDoubleNumber(), 0d);
+        Assert.assertTrue(bean.isFlag());
+    }
+
+    @Test
+    public void setInt_WrapperField_SetBoxedValue() {
+        NumbersBean bean = new NumbersBean();
+        PatchPlan.of(NumbersBean.class).property("integerNumber").accessor().setInt(bean, 5);
+        Assert.assertEquals(new Integer(5), bean.getIntegerNumber());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void get_ObjectDifferentClass_ThrowException() {
+        PatchPlan.of(StringBean.class).property("name").get(new NumbersBean());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void set_IncompatibleValue_ThrowException() {
+        PatchPlan.of(StringBean.class).property("name").set(new StringBean(), 1);
+    }
+
+}
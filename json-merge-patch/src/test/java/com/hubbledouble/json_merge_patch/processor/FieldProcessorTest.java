@@ -44,7 +44,7 @@ public class FieldProcessorTest {
         FieldProcessor.updateValue(
                 firstNode,
                 new FirstNode("name", new SecondNode()),
-                firstNode.getClass().getDeclaredField("secondNode"));
+                PatchPlan.of(firstNode.getClass()).property("secondNode"));
         Assert.assertNotNull(firstNode.getSecondNode());
     }
 
@@ -54,7 +54,7 @@ public class FieldProcessorTest {
         FieldProcessor.updateValue(
                 bean,
                 new StringBean("updated"),
-                bean.getClass().getDeclaredField("name"));
+                PatchPlan.of(bean.getClass()).property("name"));
         Assert.assertEquals("updated", bean.getName());
     }
 
@@ -64,7 +64,7 @@ public class FieldProcessorTest {
         FieldProcessor.updateValue(
                 bean,
                 new NumbersBean(1, null, null, null),
-                bean.getClass().getDeclaredField("integerNumber"));
+                PatchPlan.of(bean.getClass()).property("integerNumber"));
         Assert.assertEquals("1", bean.getIntegerNumber().toString());
     }
 
@@ -74,7 +74,7 @@ public class FieldProcessorTest {
         FieldProcessor.updateValue(
                 bean,
                 new NumbersBean(null, 1l, null, null),
-                bean.getClass().getDeclaredField("longNumber"));
+                PatchPlan.of(bean.getClass()).property("longNumber"));
         Assert.assertEquals("1", bean.getLongNumber().toString());
     }
 
@@ -84,7 +84,7 @@ public class FieldProcessorTest {
         FieldProcessor.updateValue(
                 bean,
                 new NumbersBean(null, null, 1f, null),
-                bean.getClass().getDeclaredField("floatNumber"));
+                PatchPlan.of(bean.getClass()).property("floatNumber"));
         Assert.assertEquals("1.0", bean.getFloatNumber().toString());
     }
 
@@ -94,7 +94,7 @@ public class FieldProcessorTest {
         FieldProcessor.updateValue(
                 bean,
                 new NumbersBean(null, null, null, 1d),
-                bean.getClass().getDeclaredField("doubleNumber"));
+                PatchPlan.of(bean.getClass()).property("doubleNumber"));
         Assert.assertEquals("1.0", bean.getDoubleNumber().toString());
     }
 
@@ -104,7 +104,7 @@ public class FieldProcessorTest {
         FieldProcessor.updateValue(
                 bean,
                 new BooleanBean(true),
-                bean.getClass().getDeclaredField("element"));
+                PatchPlan.of(bean.getClass()).property("element"));
         Assert.assertTrue(bean.getElement());
     }
 
@@ -114,7 +114,7 @@ public class FieldProcessorTest {
         FieldProcessor.updateValue(
                 bean,
                 new ArrayBean<>(Arrays.asList("firstValue")),
-                bean.getClass().getDeclaredField("elements"));
+                PatchPlan.of(bean.getClass()).property("elements"));
         Assert.assertEquals(1, bean.getElements().size());
         Assert.assertEquals("firstValue", bean.getElements().get(0));
     }
@@ -124,8 +124,8 @@ public class FieldProcessorTest {
         NodeBean<String> bean = new NodeBean<>(null, new LeafBean<>(null));
         NodeBean<String> requestBean = new NodeBean<>("nodeValue", new LeafBean<>("leafValue"));
 
-        FieldProcessor.updateValue(bean, requestBean, bean.getClass().getDeclaredField("element"));
-        FieldProcessor.updateValue(bean, requestBean, bean.getClass().getDeclaredField("leaf"));
+        FieldProcessor.updateValue(bean, requestBean, PatchPlan.of(bean.getClass()).property("element"));
+        FieldProcessor.updateValue(bean, requestBean, PatchPlan.of(bean.getClass()).property("leaf"));
 
         Assert.assertEquals("nodeValue", bean.getElement());
         Assert.assertEquals("leafValue", bean.getLeaf().getElement());
@@ -135,7 +135,7 @@ public class FieldProcessorTest {
     public void updateValue_ObjectDifferentObject_ThrowException() throws Exception {
         StringBean stringBean = new StringBean();
         NumbersBean numbersBean = new NumbersBean();
-        FieldProcessor.updateValue(stringBean, numbersBean, stringBean.getClass().getDeclaredField("name"));
+        FieldProcessor.updateValue(stringBean, numbersBean, PatchPlan.of(stringBean.getClass()).property("name"));
     }
 
 }
\ No newline at end of file
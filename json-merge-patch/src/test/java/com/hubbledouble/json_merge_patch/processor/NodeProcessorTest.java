@@ -0,0 +1,86 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.processor;
+
+import com.hubbledouble.json_merge_patch.core.AggregateBean;
+import com.hubbledouble.json_merge_patch.mapper.JSONMapper;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class NodeProcessorTest {
+
+    @Test
+    public void iterateJsonTree_SingleFieldOnLargeAggregate_LookUpRequestedPathsOnce() {
+        AggregateBean bean = AggregateBean.full();
+        Map<String, Integer> lookups = iterate("{ \"node5\" : { \"element\" : \"updated\" } }", bean);
+        Assert.assertEquals("updated", bean.getNode5().getElement());
+        Assert.assertEquals("node4", bean.getNode4().getElement());
+        Assert.assertEquals(lookups("node5", "node5.element"), lookups);
+    }
+
+    @Test
+    public void iterateJsonTree_DeepField_LookUpRequestedPathsOnce() {
+        AggregateBean bean = AggregateBean.full();
+        Map<String, Integer> lookups = iterate("{ \"first\" : { \"secondNode\" : { \"thirdNode\" : { \"name\" : \"updated\" } } } }", bean);
+        Assert.assertEquals("updated", bean.getFirst().getSecondNode().getThirdNode().getName());
+        Assert.assertEquals("second", bean.getFirst().getSecondNode().getName());
+        Assert.assertEquals(lookups("first", "first.secondNode", "first.secondNode.thirdNode", "first.secondNode.thirdNode.name"), lookups);
+    }
+
+    @Test
+    public void iterateJsonTree_NullNestedReplaced_LookUpRequestedPathsOnce() {
+        AggregateBean bean = AggregateBean.full();
+        bean.setNode0(null);
+        Map<String, Integer> lookups = iterate("{ \"node0\" : { \"element\" : \"new\", \"leaf\" : { \"element\" : \"new\" } } }", bean);
+        Assert.assertEquals("new", bean.getNode0().getLeaf().getElement());
+        Assert.assertEquals(lookups("node0"), lookups);
+    }
+
+    private static Map<String, Integer> iterate(String request, AggregateBean bean) {
+        CountingPatchContext context = new CountingPatchContext(PatchOptions.defaults());
+        NodeProcessor.iterateJsonTree(
+                bean,
+                JSONMapper.jsonStringToObject(request, AggregateBean.class),
+                JSONMapper.jsonStringToJsonNode(request).fields(),
+                context);
+        return context.getLookups();
+    }
+
+    private static Map<String, Integer> lookups(String... paths) {
+        Map<String, Integer> lookups = new HashMap<>();
+        for (String path : paths)
+            lookups.put(path, 1);
+        return lookups;
+    }
+
+}
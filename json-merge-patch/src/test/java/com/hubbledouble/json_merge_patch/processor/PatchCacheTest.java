@@ -0,0 +1,146 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.processor;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hubbledouble.json_merge_patch.core.ArrayBean;
+import com.hubbledouble.json_merge_patch.core.StringBean;
+import com.hubbledouble.json_merge_patch.exception.JsonMapperException;
+import com.hubbledouble.json_merge_patch.mapper.JSONMapper;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+public class PatchCacheTest {
+
+    @Test
+    public void get_SameRequestTwice_ReturnCachedTree() {
+        PatchCache cache = new PatchCache(8);
+        Assert.assertSame(cache.get("{\"name\":\"one\"}", StringBean.class, JSONMapper.defaults()),
+                cache.get(new String("{\"name\":\"one\"}"), StringBean.class, JSONMapper.defaults()));
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void get_SameRequestDifferentClass_ExpectSeparateEntries() {
+        PatchCache cache = new PatchCache(8);
+        cache.get("{}", StringBean.class, JSONMapper.defaults());
+        cache.get("{}", ArrayBean.class, JSONMapper.defaults());
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void get_SameRequestDifferentMapper_ExpectSeparateEntries() {
+        PatchCache cache = new PatchCache(8);
+        cache.get("{}", StringBean.class, JSONMapper.defaults());
+        cache.get("{}", StringBean.class, JSONMapper.of(new ObjectMapper()));
+        Assert.assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void get_SameBytesAtDifferentOffsets_ReturnCachedTree() {
+        PatchCache cache = new PatchCache(8);
+        byte[] first = "{\"name\":\"one\"}".getBytes(StandardCharsets.UTF_8);
+        byte[] second = "  {\"name\":\"one\"}".getBytes(StandardCharsets.UTF_8);
+        Assert.assertSame(
+                cache.get(first, 0, first.length, StringBean.class, JSONMapper.defaults()),
+                cache.get(second, 2, first.length, StringBean.class, JSONMapper.defaults()));
+        Assert.assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    public void get_BytesChangedAfterCaching_ExpectCachedContentKept() {
+        PatchCache cache = new PatchCache(8);
+        byte[] request = "{\"name\":\"one\"}".getBytes(StandardCharsets.UTF_8);
+        JsonNode tree = cache.get(request, 0, request.length, StringBean.class, JSONMapper.defaults());
+        byte[] original = request.clone();
+        request[10] = 'x';
+        Assert.assertNotSame(tree, cache.get(request, 0, request.length, StringBean.class, JSONMapper.defaults()));
+        Assert.assertSame(tree, cache.get(original, 0, original.length, StringBean.class, JSONMapper.defaults()));
+    }
+
+    @Test
+    public void get_LargeCacheOverCapacity_ExpectSizeBounded() {
+        PatchCache cache = new PatchCache(1000);
+        for (int i = 0; i < 3000; i++)
+            cache.get("{\"name\":\"" + i + "\"}", StringBean.class, JSONMapper.defaults());
+        Assert.assertTrue(cache.size() <= 1000);
+        Assert.assertTrue(cache.size() > 500);
+    }
+
+    @Test
+    public void get_OverCapacity_EvictLeastRecentlyUsed() {
+        PatchCache cache = new PatchCache(2);
+        cache.get("{\"name\":\"one\"}", StringBean.class, JSONMapper.defaults());
+        cache.get("{\"name\":\"two\"}", StringBean.class, JSONMapper.defaults());
+        cache.get("{\"name\":\"one\"}", StringBean.class, JSONMapper.defaults());
+        cache.get("{\"name\":\"three\"}", StringBean.class, JSONMapper.defaults());
+        Assert.assertEquals(2, cache.size());
+
+        cache.get("{\"name\":\"one\"}", StringBean.class, JSONMapper.defaults());
+        Assert.assertEquals(2, cache.getHitCount());
+        cache.get("{\"name\":\"two\"}", StringBean.class, JSONMapper.defaults());
+        Assert.assertEquals(4, cache.getMissCount());
+    }
+
+    @Test
+    public void get_MalformedRequest_ExpectNotCached() {
+        PatchCache cache = new PatchCache(8);
+        try {
+            cache.get("{\"name\":", StringBean.class, JSONMapper.defaults());
+            Assert.fail();
+        } catch (JsonMapperException e) {
+            Assert.assertEquals(0, cache.size());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void new_ZeroCapacity_ExpectIllegalArgumentException() {
+        new PatchCache(0);
+    }
+
+    @Test
+    public void patch_CachedRequest_ExpectEachObjectPatchedWithOwnValues() {
+        PatchOptions options = PatchOptions.defaults().withCache(new PatchCache(8));
+        ArrayBean<String> first = new ArrayBean<>();
+        ArrayBean<String> second = new ArrayBean<>();
+        HTTPMethodProcessor.patch("{\"elements\":[\"one\"]}", first, options);
+        HTTPMethodProcessor.patch("{\"elements\":[\"one\"]}", second, options);
+        Assert.assertEquals(Arrays.asList("one"), second.getElements());
+        Assert.assertNotSame(first.getElements(), second.getElements());
+        Assert.assertEquals(1, options.getCache().getHitCount());
+    }
+
+}
@@ -0,0 +1,135 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.processor;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.hubbledouble.json_merge_patch.core.FirstNode;
+import com.hubbledouble.json_merge_patch.core.SecondNode;
+import com.hubbledouble.json_merge_patch.core.ThirdNode;
+import com.hubbledouble.json_merge_patch.exception.JsonMapperException;
+import com.hubbledouble.json_merge_patch.mapper.JSONMapper;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class PatchComposerTest {
+
+    @Test
+    public void compose_DisjointKeys_ExpectUnion() {
+        assertComposed("{\"a\":1,\"b\":2}", "{\"a\":1}", "{\"b\":2}");
+    }
+
+    @Test
+    public void compose_SameKey_ExpectLaterValue() {
+        assertComposed("{\"a\":2}", "{\"a\":1}", "{\"a\":2}");
+    }
+
+    @Test
+    public void compose_LaterNull_ExpectNullKept() {
+        assertComposed("{\"a\":null,\"b\":1}", "{\"a\":{\"c\":1},\"b\":1}", "{\"a\":null}");
+    }
+
+    @Test
+    public void compose_NestedObjects_ExpectMerged() {
+        assertComposed(
+                "{\"a\":{\"b\":1,\"c\":null,\"d\":{\"e\":2}}}",
+                "{\"a\":{\"b\":1,\"c\":3}}",
+                "{\"a\":{\"c\":null,\"d\":{\"e\":2}}}");
+    }
+
+    @Test
+    public void compose_ObjectAfterValue_ExpectObjectWithoutNulls() {
+        assertComposed("{\"a\":{\"b\":1,\"d\":{}}}", "{\"a\":null}", "{\"a\":{\"b\":1,\"c\":null,\"d\":{\"e\":null}}}");
+    }
+
+    @Test
+    public void compose_LaterArray_ExpectReplaced() {
+        assertComposed("{\"a\":[3]}", "{\"a\":{\"b\":[1,2]}}", "{\"a\":[3]}");
+    }
+
+    @Test
+    public void compose_NonObjectRoot_ExpectLaterRoot() {
+        assertComposed("[1]", "{\"a\":1}", "[1]");
+        assertComposed("{\"b\":2}", "[1]", "{\"b\":2,\"c\":null}");
+    }
+
+    @Test
+    public void compose_NoPatches_ExpectEmptyObject() {
+        Assert.assertEquals("{}", PatchComposer.compose());
+    }
+
+    @Test
+    public void compose_Trees_ExpectInputsUntouched() {
+        JsonNode first = JSONMapper.jsonStringToJsonNode("{\"a\":{\"b\":1}}");
+        JsonNode second = JSONMapper.jsonStringToJsonNode("{\"a\":{\"c\":2}}");
+        JsonNode third = JSONMapper.jsonStringToJsonNode("{\"a\":{\"d\":3}}");
+        PatchComposer.compose(Arrays.asList(first, second, third));
+        Assert.assertEquals(JSONMapper.jsonStringToJsonNode("{\"a\":{\"b\":1}}"), first);
+        Assert.assertEquals(JSONMapper.jsonStringToJsonNode("{\"a\":{\"c\":2}}"), second);
+    }
+
+    @Test
+    public void compose_AppliedOnce_ExpectSameAsAppliedInSequence() {
+        String[] patches = {
+                "{\"name\":\"one\",\"secondNode\":{\"name\":\"two\"}}",
+                "{\"secondNode\":{\"thirdNode\":{\"name\":\"three\"}}}",
+                "{\"name\":\"four\",\"secondNode\":{\"name\":null}}"};
+
+        FirstNode sequential = new FirstNode("first", new SecondNode("second", new ThirdNode("third")));
+        for (String patch : patches)
+            HTTPMethodProcessor.patch(patch, sequential);
+
+        FirstNode composed = new FirstNode("first", new SecondNode("second", new ThirdNode("third")));
+        HTTPMethodProcessor.patch(JSONMapper.jsonStringToJsonNode(PatchComposer.compose(patches)), composed);
+
+        Assert.assertEquals(sequential.getName(), composed.getName());
+        Assert.assertEquals(sequential.getSecondNode().getName(), composed.getSecondNode().getName());
+        Assert.assertEquals(
+                sequential.getSecondNode().getThirdNode().getName(),
+                composed.getSecondNode().getThirdNode().getName());
+    }
+
+    @Test(expected = JsonMapperException.class)
+    public void compose_MalformedPatch_ExpectJsonMapperException() {
+        PatchComposer.compose("{\"a\":1}", "{\"a\":");
+    }
+
+    @Test
+    public void compose_EmptyIterable_ExpectEmptyObject() {
+        Assert.assertEquals(0, PatchComposer.compose(Collections.<JsonNode>emptyList()).size());
+    }
+
+    private static void assertComposed(String expected, String... patches) {
+        Assert.assertEquals(JSONMapper.jsonStringToJsonNode(expected), JSONMapper.jsonStringToJsonNode(PatchComposer.compose(patches)));
+    }
+
+}
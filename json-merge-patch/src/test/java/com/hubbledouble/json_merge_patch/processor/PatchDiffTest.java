@@ -0,0 +1,146 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.processor;
+
+import com.hubbledouble.json_merge_patch.core.ArrayBean;
+import com.hubbledouble.json_merge_patch.core.FirstNode;
+import com.hubbledouble.json_merge_patch.core.MapBean;
+import com.hubbledouble.json_merge_patch.core.PrimitivesBean;
+import com.hubbledouble.json_merge_patch.core.SecondNode;
+import com.hubbledouble.json_merge_patch.core.ThirdNode;
+import com.hubbledouble.json_merge_patch.exception.IllegalSetupException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class PatchDiffTest {
+
+    @Test
+    public void diff_EqualStates_ExpectEmptyPatch() {
+        FirstNode original = new FirstNode("first", new SecondNode("second", new ThirdNode("third")));
+        FirstNode target = new FirstNode("first", new SecondNode("second", new ThirdNode("third")));
+        Assert.assertEquals("{}", PatchDiff.diff(original, target));
+    }
+
+    @Test
+    public void diff_DeepChange_ExpectOnlyPathToChange() {
+        FirstNode original = new FirstNode("first", new SecondNode("second", new ThirdNode("third")));
+        FirstNode target = new FirstNode("first", new SecondNode("second", new ThirdNode("changed")));
+        Assert.assertEquals("{\"secondNode\":{\"thirdNode\":{\"name\":\"changed\"}}}", PatchDiff.diff(original, target));
+    }
+
+    @Test
+    public void diff_RemovedValue_ExpectNull() {
+        FirstNode original = new FirstNode("first", new SecondNode("second", new ThirdNode("third")));
+        FirstNode target = new FirstNode("first", new SecondNode("second", null));
+        Assert.assertEquals("{\"secondNode\":{\"thirdNode\":null}}", PatchDiff.diff(original, target));
+    }
+
+    @Test
+    public void diff_AddedObject_ExpectWholeObject() {
+        FirstNode original = new FirstNode("first", null);
+        FirstNode target = new FirstNode("first", new SecondNode("second", null));
+        Assert.assertEquals("{\"secondNode\":{\"name\":\"second\",\"thirdNode\":null}}", PatchDiff.diff(original, target));
+    }
+
+    @Test
+    public void diff_Primitives_ExpectChangedOnly() {
+        PrimitivesBean original = new PrimitivesBean(1, 2L, 3f, 4d, false);
+        PrimitivesBean target = new PrimitivesBean(1, 20L, 3f, 4d, true);
+        Assert.assertEquals("{\"longNumber\":20,\"flag\":true}", PatchDiff.diff(original, target));
+    }
+
+    @Test
+    public void diff_EqualCollections_ExpectSkipped() {
+        ArrayBean<String> original = new ArrayBean<>(Arrays.asList("one", "two"));
+        ArrayBean<String> target = new ArrayBean<>(Arrays.asList("one", "two"));
+        Assert.assertEquals("{}", PatchDiff.diff(original, target));
+
+        target.setElements(Collections.singletonList("one"));
+        Assert.assertEquals("{\"elements\":[\"one\"]}", PatchDiff.diff(original, target));
+    }
+
+    @Test
+    public void diff_Maps_ExpectChangedEntriesOnly() {
+        Map<String, String> original = new HashMap<>();
+        original.put("one", "1");
+        original.put("two", "2");
+        Map<String, String> target = new HashMap<>(original);
+        target.remove("one");
+        target.put("three", "3");
+        Assert.assertEquals("{\"elements\":{\"one\":null,\"three\":\"3\"}}", PatchDiff.diff(new MapBean(original), new MapBean(target)));
+        Assert.assertEquals("{}", PatchDiff.diff(new MapBean(original), new MapBean(new HashMap<>(original))));
+    }
+
+    @Test
+    public void diff_ThenPatch_ExpectTargetState() {
+        Map<String, String> elements = new HashMap<>();
+        elements.put("one", "1");
+        MapBean original = new MapBean(elements);
+        MapBean target = new MapBean(Collections.singletonMap("two", "2"));
+
+        HTTPMethodProcessor.patch(PatchDiff.diff(original, target), original);
+        Assert.assertEquals(target.getElements(), original.getElements());
+
+        FirstNode first = new FirstNode("first", new SecondNode("second", new ThirdNode("third")));
+        FirstNode changed = new FirstNode(null, new SecondNode("second", new ThirdNode("changed")));
+        HTTPMethodProcessor.patch(PatchDiff.diff(first, changed), first);
+        Assert.assertNull(first.getName());
+        Assert.assertEquals("changed", first.getSecondNode().getThirdNode().getName());
+    }
+
+    @Test
+    public void diff_OutputStream_ExpectUtf8PatchAndStreamOpen() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PatchDiff.diff(new ThirdNode("third"), new ThirdNode("thïrd"), out);
+        out.write('\n');
+        Assert.assertEquals("{\"name\":\"thïrd\"}\n", new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void diff_CollectionRoot_ExpectWholeTarget() {
+        List<String> original = Arrays.asList("one");
+        Assert.assertEquals("[\"one\",\"two\"]", PatchDiff.diff(original, Arrays.asList("one", "two")));
+    }
+
+    @Test(expected = IllegalSetupException.class)
+    public void diff_DifferentClasses_ThrowIllegalSetupException() {
+        PatchDiff.diff(new ThirdNode("third"), new ThirdNode("third") {
+        });
+    }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.processor;
+
+import com.hubbledouble.json_merge_patch.core.FirstNode;
+import com.hubbledouble.json_merge_patch.core.NumbersBean;
+import com.hubbledouble.json_merge_patch.core.PatchableBean;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PatchPlanTest {
+
+    @Test
+    public void of_SameClass_ReturnCachedPlan() {
+        Assert.assertSame(PatchPlan.of(FirstNode.class), PatchPlan.of(FirstNode.class));
+    }
+
+    @Test
+    public void property_DifferentCase_ReturnProperty() {
+        Assert.assertEquals("integerNumber", PatchPlan.of(NumbersBean.class).property("INTEGERNUMBER").getName());
+    }
+
+    @Test
+    public void property_DoesNotExist_ReturnNull() {
+        Assert.assertNull(PatchPlan.of(NumbersBean.class).property("doesNotExist"));
+        Assert.assertNull(PatchPlan.of(NumbersBean.class).property(null));
+    }
+
+    @Test
+    public void nestedProperties_FinalJavaTypes_Excluded() {
+        PatchProperty[] nested = PatchPlan.of(FirstNode.class).nestedProperties();
+        Assert.assertEquals(1, nested.length);
+        Assert.assertEquals("secondNode", nested[0].getName());
+    }
+
+    @Test
+    public void isDeclaredIn_JavaSource_False() {
+        Assert.assertFalse(PatchPlan.of(String.class).isDeclaredIn("java.lang"));
+        Assert.assertEquals(0, PatchPlan.of(String.class).properties().length);
+    }
+
+    @Test
+    public void isDeclaredIn_CustomPackage_True() {
+        Assert.assertTrue(PatchPlan.of(FirstNode.class).isDeclaredIn("com.hubbledouble"));
+    }
+
+    @Test
+    public void property_PatchableWithGeneratedApplier_UseGeneratedAccessor() {
+        PatchPlan plan = PatchPlan.of(PatchableBean.class);
+        Assert.assertTrue(plan.property("name").accessor() instanceof GeneratedFieldAccessor);
+        Assert.assertTrue(plan.property("nickname").accessor() instanceof MethodHandleFieldAccessor);
+    }
+
+    @Test
+    public void property_NotPatchable_UseMethodHandleAccessor() {
+        Assert.assertTrue(PatchPlan.of(NumbersBean.class).property("integerNumber").accessor() instanceof MethodHandleFieldAccessor);
+    }
+
+}
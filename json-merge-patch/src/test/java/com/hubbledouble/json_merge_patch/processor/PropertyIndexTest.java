@@ -0,0 +1,74 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.processor;
+
+import com.hubbledouble.json_merge_patch.core.AggregateBean;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PropertyIndexTest {
+
+    @Test
+    public void get_ExactName_ReturnProperty() {
+        PropertyIndex index = new PropertyIndex(PatchPlan.of(AggregateBean.class).properties());
+        for (PatchProperty property : PatchPlan.of(AggregateBean.class).properties())
+            Assert.assertSame(property, index.get(property.getName(), false));
+    }
+
+    @Test
+    public void get_DifferentCase_ReturnPropertyOnlyWhenCaseInsensitive() {
+        PropertyIndex index = new PropertyIndex(PatchPlan.of(AggregateBean.class).properties());
+        Assert.assertEquals("node3", index.get("NODE3", true).getName());
+        Assert.assertNull(index.get("NODE3", false));
+    }
+
+    @Test
+    public void get_UnknownKey_ReturnNull() {
+        PropertyIndex index = new PropertyIndex(PatchPlan.of(AggregateBean.class).properties());
+        Assert.assertNull(index.get("node10", true));
+        Assert.assertNull(index.get("", true));
+    }
+
+    @Test
+    public void get_FieldsDifferingInCase_PreferExactMatch() throws Exception {
+        PropertyIndex index = new PropertyIndex(new PatchProperty[]{
+                new PatchProperty(CaseBean.class.getDeclaredField("name"), null),
+                new PatchProperty(CaseBean.class.getDeclaredField("Name"), null)});
+        Assert.assertEquals("name", index.get("name", true).getName());
+        Assert.assertEquals("Name", index.get("Name", true).getName());
+        Assert.assertNotNull(index.get("NAME", true));
+    }
+
+    private static class CaseBean {
+        private String name;
+        private String Name;
+    }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.processor;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.hubbledouble.json_merge_patch.core.AggregateBean;
+import com.hubbledouble.json_merge_patch.mapper.JSONMapper;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class TokenProcessorTest {
+
+    @Test
+    public void processObject_SingleFieldOnLargeAggregate_LookUpRequestedPathsOnce() throws Exception {
+        AggregateBean bean = AggregateBean.full();
+        Map<String, Integer> lookups = process("{ \"node5\" : { \"element\" : \"updated\" } }", bean);
+        Assert.assertEquals("updated", bean.getNode5().getElement());
+        Assert.assertEquals("node4", bean.getNode4().getElement());
+        Assert.assertEquals(lookups("node5", "node5.element"), lookups);
+    }
+
+    @Test
+    public void processObject_DeepField_LookUpRequestedPathsOnce() throws Exception {
+        AggregateBean bean = AggregateBean.full();
+        Map<String, Integer> lookups = process("{ \"first\" : { \"secondNode\" : { \"thirdNode\" : { \"name\" : \"updated\" } } } }", bean);
+        Assert.assertEquals("updated", bean.getFirst().getSecondNode().getThirdNode().getName());
+        Assert.assertEquals(lookups("first", "first.secondNode", "first.secondNode.thirdNode", "first.secondNode.thirdNode.name"), lookups);
+    }
+
+    private static Map<String, Integer> process(String request, AggregateBean bean) throws Exception {
+        CountingPatchContext context = new CountingPatchContext(PatchOptions.defaults());
+        try (JsonParser parser = JSONMapper.jsonStringToParser(request)) {
+            Assert.assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+            TokenProcessor.processObject(parser, bean, context);
+        }
+        return context.getLookups();
+    }
+
+    private static Map<String, Integer> lookups(String... paths) {
+        Map<String, Integer> lookups = new HashMap<>();
+        for (String path : paths)
+            lookups.put(path, 1);
+        return lookups;
+    }
+
+}
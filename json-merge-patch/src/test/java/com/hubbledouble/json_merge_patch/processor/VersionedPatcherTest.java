@@ -0,0 +1,160 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.processor;
+
+import com.hubbledouble.json_merge_patch.core.NodeBean;
+import com.hubbledouble.json_merge_patch.core.StringBean;
+import com.hubbledouble.json_merge_patch.core.VersionedAggregateBean;
+import com.hubbledouble.json_merge_patch.core.VersionedBean;
+import com.hubbledouble.json_merge_patch.exception.IllegalSetupException;
+import com.hubbledouble.json_merge_patch.exception.JsonMergePatchException;
+import com.hubbledouble.json_merge_patch.exception.ValidationException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class VersionedPatcherTest {
+
+    private final VersionedPatcher patcher = new VersionedPatcher(16);
+
+    @Test
+    public void patch_ExpectedVersion_ExpectPatchedAndIncremented() {
+        VersionedBean bean = new VersionedBean("one", 3);
+        Assert.assertTrue(patcher.patch("{ \"name\" : \"two\" }", bean, 3));
+        Assert.assertEquals("two", bean.getName());
+        Assert.assertEquals(4, bean.getVersion());
+    }
+
+    @Test
+    public void patch_StaleVersion_ExpectUntouchedAndRequestNotParsed() {
+        VersionedBean bean = new VersionedBean("one", 3);
+        Assert.assertFalse(patcher.patch("{ not json", bean, 2));
+        Assert.assertEquals("one", bean.getName());
+        Assert.assertEquals(3, bean.getVersion());
+    }
+
+    @Test
+    public void patch_RequestSetsVersion_ExpectVersionIncrementedAnyway() {
+        VersionedBean bean = new VersionedBean("one", 3);
+        Assert.assertTrue(patcher.patch("{ \"version\" : 100 }", bean, 3));
+        Assert.assertEquals(4, bean.getVersion());
+    }
+
+    @Test
+    public void patch_FailingRequest_ExpectVersionKept() {
+        VersionedBean bean = new VersionedBean("one", 3);
+        try {
+            patcher.patch("{ \"unknown\" : 1 }", bean, 3);
+            Assert.fail();
+        } catch (JsonMergePatchException e) {
+            Assert.assertEquals(3, bean.getVersion());
+        }
+    }
+
+    @Test
+    public void patch_ConstraintViolationsFound_ExpectObjectAndVersionKept() {
+        VersionedBean bean = new VersionedBean("one", 3);
+        try {
+            patcher.patch("{ \"version\" : 100, \"name\" : \"theNameSizeIsMoreThan10\" }", bean, 3);
+            Assert.fail();
+        } catch (ValidationException e) {
+            Assert.assertEquals("one", bean.getName());
+            Assert.assertEquals(3, bean.getVersion());
+            Assert.assertEquals("\"3\"", VersionedPatcher.etag(bean));
+        }
+    }
+
+    @Test
+    public void patch_NestedValues_ExpectPatchedInPlace() {
+        NodeBean<String> node = new NodeBean<>("one", null);
+        List<String> tags = new ArrayList<>(Collections.singletonList("a"));
+        VersionedAggregateBean bean = new VersionedAggregateBean(node, tags);
+
+        Assert.assertTrue(patcher.patch("{ \"node\" : { \"element\" : \"two\" }, \"tags\" : [\"a\", \"b\"] }", bean, 0));
+        Assert.assertSame(node, bean.getNode());
+        Assert.assertEquals("two", node.getElement());
+        Assert.assertSame(tags, bean.getTags());
+        Assert.assertEquals(Arrays.asList("a", "b"), tags);
+        Assert.assertEquals(Long.valueOf(1), bean.getVersion());
+    }
+
+    @Test
+    public void patchIfMatch_Etags_ExpectStrongComparison() {
+        VersionedBean bean = new VersionedBean("one", 3);
+        Assert.assertEquals("\"3\"", VersionedPatcher.etag(bean));
+        Assert.assertFalse(patcher.patchIfMatch("{ \"name\" : \"two\" }", bean, "W/\"3\""));
+        Assert.assertFalse(patcher.patchIfMatch("{ \"name\" : \"two\" }", bean, "\"2\""));
+        Assert.assertTrue(patcher.patchIfMatch("{ \"name\" : \"two\" }", bean, "\"3\""));
+        Assert.assertTrue(patcher.patchIfMatch("{ \"name\" : \"three\" }", bean, "*"));
+        Assert.assertEquals("three", bean.getName());
+        Assert.assertEquals("\"5\"", VersionedPatcher.etag(bean));
+    }
+
+    @Test
+    public void patchIfMatch_NullVersionEtag_ExpectPatched() {
+        VersionedAggregateBean bean = new VersionedAggregateBean(null, null);
+        Assert.assertEquals("\"0\"", VersionedPatcher.etag(bean));
+        Assert.assertTrue(patcher.patchIfMatch("{ \"tags\" : [\"a\"] }", bean, VersionedPatcher.etag(bean)));
+        Assert.assertEquals("\"1\"", VersionedPatcher.etag(bean));
+    }
+
+    @Test
+    public void patch_ConcurrentWriters_ExpectEveryPatchAppliedOnce() throws InterruptedException {
+        VersionedBean bean = new VersionedBean("zero", 0);
+        VersionedPatcher byId = new VersionedPatcher(4, object -> ((VersionedBean) object).getName().length());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 400; i++)
+            executor.execute(() -> {
+                while (!byId.patch("{ \"name\" : \"same\" }", bean, bean.getVersion())) {
+                }
+            });
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        Assert.assertEquals(400, bean.getVersion());
+    }
+
+    @Test(expected = IllegalSetupException.class)
+    public void patch_NoVersionField_ThrowIllegalSetupException() {
+        patcher.patch("{}", new StringBean(), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void new_ZeroStripes_ExpectIllegalArgumentException() {
+        new VersionedPatcher(0);
+    }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * BSD 2-Clause License
+ *
+ * Copyright (c) 2019, HubbleDouble
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package com.hubbledouble.json_merge_patch.validator;
+
+import com.hubbledouble.json_merge_patch.core.NodeBean;
+import com.hubbledouble.json_merge_patch.core.StringBean;
+import com.hubbledouble.json_merge_patch.core.ValidatedBean;
+import com.hubbledouble.json_merge_patch.exception.ErrorDetail;
+import com.hubbledouble.json_merge_patch.processor.HTTPMethodProcessor;
+import com.hubbledouble.json_merge_patch.processor.PatchOptions;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.validation.Validation;
+import javax.validation.Validator;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class BeanValidationPatchValidatorTest {
+
+    @Test
+    public void validate_UnconstrainedClass_ExpectValidatorNotCalled() {
+        AtomicInteger validations = new AtomicInteger();
+        PatchValidator validator = new BeanValidationPatchValidator(counting(validations));
+        Assert.assertTrue(validator.validate(new NodeBean<>("one", null), null).isEmpty());
+        Assert.assertTrue(validator.validate(new NodeBean<>("two", null), null).isEmpty());
+        Assert.assertEquals(0, validations.get());
+    }
+
+    @Test
+    public void validate_ConstrainedClass_ExpectViolations() {
+        AtomicInteger validations = new AtomicInteger();
+        PatchValidator validator = new BeanValidationPatchValidator(counting(validations));
+        List<ErrorDetail> errors = validator.validate(new StringBean("far too long a name"), null);
+        Assert.assertEquals(1, validations.get());
+        Assert.assertEquals("name", errors.get(0).getLocation());
+    }
+
+    @Test
+    public void validate_ValidatorOnlyWithPatchedPaths_ExpectFullValidation() {
+        PatchValidator validator = new BeanValidationPatchValidator(Validation.buildDefaultValidatorFactory().getValidator());
+        PatchedPaths patchedPaths = new PatchedPaths();
+        patchedPaths.replaced("min");
+        ValidatedBean bean = new ValidatedBean("far too long a name", 1, 2, null, null);
+        Assert.assertEquals(1, validator.validate(bean, patchedPaths).size());
+    }
+
+    @Test
+    public void validate_FactoryWithPatchedPaths_ExpectOnlyPatchedPathsValidated() {
+        PatchValidator validator = new BeanValidationPatchValidator(Validation.buildDefaultValidatorFactory());
+        PatchedPaths patchedPaths = new PatchedPaths();
+        patchedPaths.replaced("min");
+        ValidatedBean bean = new ValidatedBean("far too long a name", 1, 2, null, null);
+        Assert.assertTrue(validator.validate(bean, patchedPaths).isEmpty());
+    }
+
+    @Test
+    public void patch_NoneValidator_ExpectConstraintsIgnored() {
+        StringBean bean = new StringBean("name");
+        HTTPMethodProcessor.patch("{ \"name\" : \"far too long a name\" }", bean, PatchOptions.defaults().withValidator(PatchValidator.NONE));
+        Assert.assertEquals("far too long a name", bean.getName());
+    }
+
+    @Test
+    public void patch_CustomValidator_ExpectCalledWithPatchedPaths() {
+        List<PatchedPaths> calls = new ArrayList<>();
+        PatchOptions options = PatchOptions.defaults()
+                .withIncrementalValidation(true)
+                .withValidator((object, patchedPaths) -> {
+                    calls.add(patchedPaths);
+                    return Collections.emptyList();
+                });
+        HTTPMethodProcessor.patch("{ \"name\" : \"updated\" }", new StringBean("name"), options);
+        Assert.assertEquals(1, calls.size());
+        Assert.assertTrue(calls.get(0).isReachable(Collections.emptyList(), "name"));
+        Assert.assertFalse(calls.get(0).isReachable(Collections.emptyList(), "other"));
+    }
+
+    private static Validator counting(AtomicInteger validations) {
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        return (Validator) Proxy.newProxyInstance(
+                Validator.class.getClassLoader(),
+                new Class<?>[]{Validator.class},
+                (proxy, method, args) -> {
+                    if ("validate".equals(method.getName()))
+                        validations.incrementAndGet();
+                    return method.invoke(validator, args);
+                });
+    }
+
+}